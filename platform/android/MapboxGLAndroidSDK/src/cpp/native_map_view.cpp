@@ -27,6 +27,7 @@
 #include <mbgl/style/style.hpp>
 #include <mbgl/style/image.hpp>
 #include <mbgl/style/filter.hpp>
+#include <mbgl/style/style_impl.hpp>
 #include <mbgl/renderer/query.hpp>
 
 // Java -> C++ conversion
@@ -188,10 +189,13 @@ void NativeMapView::onDidFinishRenderingFrame(MapObserver::RenderFrameStatus sta
 
     android::UniqueEnv _env = android::AttachEnv();
     static auto& javaClass = jni::Class<NativeMapView>::Singleton(*_env);
-    static auto onDidFinishRenderingFrame = javaClass.GetMethod<void (jboolean)>(*_env, "onDidFinishRenderingFrame");
+    static auto onDidFinishRenderingFrame = javaClass.GetMethod<void (jboolean, jboolean, jboolean)>(*_env, "onDidFinishRenderingFrame");
     auto weakReference = javaPeer.get(*_env);
     if (weakReference) {
-        weakReference.Call(*_env, onDidFinishRenderingFrame, (jboolean) (status.mode != MapObserver::RenderMode::Partial));
+        weakReference.Call(*_env, onDidFinishRenderingFrame,
+                           (jboolean) (status.mode != MapObserver::RenderMode::Partial),
+                           (jboolean) status.needsRepaint,
+                           (jboolean) status.placementChanged);
     }
 }
 
@@ -1041,6 +1045,45 @@ jni::jboolean NativeMapView::removeLayer(JNIEnv&, jlong layerPtr) {
     return jni::jni_false;
 }
 
+void NativeMapView::setLayerProperties(JNIEnv& env,
+                                       const jni::Array<jni::String>& jlayerIds,
+                                       const jni::Array<jni::String>& jnames,
+                                       const jni::Array<jni::Object<>>& jvalues) {
+    jni::NullCheck(env, &jlayerIds);
+    jni::NullCheck(env, &jnames);
+    jni::NullCheck(env, &jvalues);
+    std::size_t len = jlayerIds.Length(env);
+    assert(jnames.Length(env) == len && jvalues.Length(env) == len);
+
+    // Apply all changes before updating the style once
+    auto& style = *map->getStyle().impl;
+    style.beginLayerChanges();
+    try {
+        mbgl::style::Layer* layer = nullptr;
+        for (std::size_t i = 0; i < len; i++) {
+            auto layerId = jni::Make<std::string>(env, jlayerIds.Get(env, i));
+            auto name = jni::Make<std::string>(env, jnames.Get(env, i));
+            // Changes are grouped per layer, only look up the layer when it changes
+            if (!layer || layer->getID() != layerId) {
+                layer = style.getLayer(layerId);
+            }
+            if (!layer) {
+                Log::Error(Event::JNI, "Error setting property: " + name + " no layer found with id " + layerId);
+                continue;
+            }
+
+            optional<mbgl::style::conversion::Error> error = layer->setProperty(name, Value(env, jvalues.Get(env, i)));
+            if (error) {
+                Log::Error(Event::JNI, "Error setting property: " + name + " " + error->message);
+            }
+        }
+    } catch (...) {
+        style.endLayerChanges();
+        throw;
+    }
+    style.endLayerChanges();
+}
+
 jni::Local<jni::Array<jni::Object<Source>>> NativeMapView::getSources(JNIEnv& env) {
     // Get the core sources
     std::vector<style::Source*> sources = map->getStyle().getSources();
@@ -1244,6 +1287,7 @@ void NativeMapView::registerNative(jni::JNIEnv& env) {
         METHOD(&NativeMapView::addLayerAt, "nativeAddLayerAt"),
         METHOD(&NativeMapView::removeLayerAt, "nativeRemoveLayerAt"),
         METHOD(&NativeMapView::removeLayer, "nativeRemoveLayer"),
+        METHOD(&NativeMapView::setLayerProperties, "nativeSetLayerProperties"),
         METHOD(&NativeMapView::getSources, "nativeGetSources"),
         METHOD(&NativeMapView::getSource, "nativeGetSource"),
         METHOD(&NativeMapView::addSource, "nativeAddSource"),
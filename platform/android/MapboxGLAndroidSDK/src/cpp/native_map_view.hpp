@@ -227,6 +227,9 @@ public:
 
     jni::jboolean removeLayer(JNIEnv&, jlong);
 
+    void setLayerProperties(JNIEnv&, const jni::Array<jni::String>&, const jni::Array<jni::String>&,
+                            const jni::Array<jni::Object<>>&);
+
     jni::Local<jni::Array<jni::Object<Source>>> getSources(JNIEnv&);
 
     jni::Local<jni::Object<Source>> getSource(JNIEnv&, const jni::String&);
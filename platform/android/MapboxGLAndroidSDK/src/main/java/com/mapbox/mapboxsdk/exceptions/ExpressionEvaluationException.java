@@ -0,0 +1,14 @@
+package com.mapbox.mapboxsdk.exceptions;
+
+/**
+ * An ExpressionEvaluationException is thrown when an expression fails to evaluate,
+ * for example when an argument is not of the expected type.
+ */
+public class ExpressionEvaluationException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ExpressionEvaluationException(String detailMessage) {
+    super(detailMessage);
+  }
+}
@@ -22,6 +22,8 @@ class MapChangeReceiver implements NativeMapView.StateCallback {
     = new CopyOnWriteArrayList<>();
   private final List<MapView.OnDidFinishRenderingFrameListener> onDidFinishRenderingFrameList
     = new CopyOnWriteArrayList<>();
+  private final List<MapView.OnRenderFrameStatsListener> onRenderFrameStatsListenerList
+    = new CopyOnWriteArrayList<>();
   private final List<MapView.OnWillStartRenderingMapListener> onWillStartRenderingMapListenerList
     = new CopyOnWriteArrayList<>();
   private final List<MapView.OnDidFinishRenderingMapListener> onDidFinishRenderingMapListenerList
@@ -148,6 +150,25 @@ class MapChangeReceiver implements NativeMapView.StateCallback {
     }
   }
 
+  @Override
+  public boolean hasOnRenderFrameStatsListeners() {
+    return !onRenderFrameStatsListenerList.isEmpty();
+  }
+
+  @Override
+  public void onRenderFrameStats(RenderFrameStats stats) {
+    try {
+      if (!onRenderFrameStatsListenerList.isEmpty()) {
+        for (MapView.OnRenderFrameStatsListener listener : onRenderFrameStatsListenerList) {
+          listener.onRenderFrameStats(stats);
+        }
+      }
+    } catch (Throwable err) {
+      Logger.e(TAG, "Exception in onRenderFrameStats", err);
+      throw err;
+    }
+  }
+
   @Override
   public void onWillStartRenderingMap() {
     try {
@@ -319,6 +340,14 @@ class MapChangeReceiver implements NativeMapView.StateCallback {
     onDidFinishRenderingFrameList.remove(listener);
   }
 
+  void addOnRenderFrameStatsListener(MapView.OnRenderFrameStatsListener listener) {
+    onRenderFrameStatsListenerList.add(listener);
+  }
+
+  void removeOnRenderFrameStatsListener(MapView.OnRenderFrameStatsListener listener) {
+    onRenderFrameStatsListenerList.remove(listener);
+  }
+
   void addOnWillStartRenderingMapListener(MapView.OnWillStartRenderingMapListener listener) {
     onWillStartRenderingMapListenerList.add(listener);
   }
@@ -384,6 +413,7 @@ class MapChangeReceiver implements NativeMapView.StateCallback {
     onDidFailLoadingMapListenerList.clear();
     onWillStartRenderingFrameList.clear();
     onDidFinishRenderingFrameList.clear();
+    onRenderFrameStatsListenerList.clear();
     onWillStartRenderingMapListenerList.clear();
     onDidFinishRenderingMapListenerList.clear();
     onDidBecomeIdleListenerList.clear();
@@ -766,6 +766,25 @@ public class MapView extends FrameLayout implements NativeMapView.ViewCallback {
     mapChangeReceiver.removeOnDidFinishRenderingFrameListener(listener);
   }
 
+  /**
+   * Set a callback that's invoked with the statistics of each frame rendered by the map.
+   *
+   * @param listener The callback that's invoked when the map has finished rendering a frame
+   * @see RenderStatsAggregator
+   */
+  public void addOnRenderFrameStatsListener(@NonNull OnRenderFrameStatsListener listener) {
+    mapChangeReceiver.addOnRenderFrameStatsListener(listener);
+  }
+
+  /**
+   * Remove a callback that's invoked with the statistics of each frame rendered by the map.
+   *
+   * @param listener The callback that's invoked when the map has finished rendering a frame
+   */
+  public void removeOnRenderFrameStatsListener(@NonNull OnRenderFrameStatsListener listener) {
+    mapChangeReceiver.removeOnRenderFrameStatsListener(listener);
+  }
+
   /**
    * Set a callback that's invoked when the map will start rendering.
    *
@@ -1013,6 +1032,21 @@ public class MapView extends FrameLayout implements NativeMapView.ViewCallback {
     void onDidFinishRenderingFrame(boolean fully);
   }
 
+  /**
+   * Interface definition for a callback to be invoked with the statistics of a rendered frame.
+   * <p>
+   * {@link MapView#addOnRenderFrameStatsListener(OnRenderFrameStatsListener)}
+   * </p>
+   */
+  public interface OnRenderFrameStatsListener {
+    /**
+     * Called when the map has finished rendering a frame
+     *
+     * @param stats the statistics of the rendered frame
+     */
+    void onRenderFrameStats(@NonNull RenderFrameStats stats);
+  }
+
   /**
    * Interface definition for a callback to be invoked when the map will start rendering the map.
    * <p>
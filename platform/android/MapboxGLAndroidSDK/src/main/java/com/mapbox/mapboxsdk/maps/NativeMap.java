@@ -143,6 +143,8 @@ interface NativeMap {
 
   boolean removeLayerAt(@IntRange(from = 0) int index);
 
+  void setLayerProperties(@NonNull String[] layerIds, @NonNull String[] names, @NonNull Object[] values);
+
   void addSource(@NonNull Source source);
 
   @NonNull
@@ -898,6 +898,14 @@ final class NativeMapView implements NativeMap {
     return nativeRemoveLayerAt(index);
   }
 
+  @Override
+  public void setLayerProperties(@NonNull String[] layerIds, @NonNull String[] names, @NonNull Object[] values) {
+    if (checkState("setLayerProperties")) {
+      return;
+    }
+    nativeSetLayerProperties(layerIds, names, values);
+  }
+
   @Override
   @NonNull
   public List<Source> getSources() {
@@ -1091,9 +1099,14 @@ final class NativeMapView implements NativeMap {
   }
 
   @Keep
-  private void onDidFinishRenderingFrame(boolean fully) {
+  private void onDidFinishRenderingFrame(boolean fully, boolean needsRepaint, boolean placementChanged) {
     if (stateCallback != null) {
       stateCallback.onDidFinishRenderingFrame(fully);
+      if (stateCallback.hasOnRenderFrameStatsListeners()) {
+        stateCallback.onRenderFrameStats(new RenderFrameStats(fully, needsRepaint, placementChanged,
+          mapRenderer.getFrameRenderTime(), mapRenderer.getFrameSwapTime(),
+          mapRenderer.getFrameInterval(), mapRenderer.getFrameBudget()));
+      }
     }
   }
 
@@ -1429,6 +1442,9 @@ final class NativeMapView implements NativeMap {
   @Keep
   private native boolean nativeRemoveLayerAt(int index);
 
+  @Keep
+  private native void nativeSetLayerProperties(String[] layerIds, String[] names, Object[] values);
+
   @NonNull
   @Keep
   private native Source[] nativeGetSources();
@@ -1581,6 +1597,10 @@ final class NativeMapView implements NativeMap {
 
     void onDidFinishRenderingFrame(boolean fully);
 
+    boolean hasOnRenderFrameStatsListeners();
+
+    void onRenderFrameStats(RenderFrameStats stats);
+
     void onWillStartRenderingMap();
 
     void onDidFinishRenderingMap(boolean fully);
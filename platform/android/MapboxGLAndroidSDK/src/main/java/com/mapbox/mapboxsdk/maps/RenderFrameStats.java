@@ -0,0 +1,104 @@
+package com.mapbox.mapboxsdk.maps;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Statistics of a single frame rendered by the map.
+ * <p>
+ * Timings are measured on the render thread for the last frame it has drawn and swapped,
+ * the flags are reported by the renderer when it finished rendering the frame.
+ * </p>
+ *
+ * @see MapView#addOnRenderFrameStatsListener(MapView.OnRenderFrameStatsListener)
+ */
+public final class RenderFrameStats {
+
+  private final boolean fullyRendered;
+  private final boolean needsRepaint;
+  private final boolean placementChanged;
+  private final long cpuRenderTime;
+  private final long gpuWaitTime;
+  private final long frameInterval;
+  private final long frameBudget;
+
+  RenderFrameStats(boolean fullyRendered, boolean needsRepaint, boolean placementChanged,
+                   long cpuRenderTime, long gpuWaitTime, long frameInterval, long frameBudget) {
+    this.fullyRendered = fullyRendered;
+    this.needsRepaint = needsRepaint;
+    this.placementChanged = placementChanged;
+    this.cpuRenderTime = cpuRenderTime;
+    this.gpuWaitTime = gpuWaitTime;
+    this.frameInterval = frameInterval;
+    this.frameBudget = frameBudget;
+  }
+
+  /**
+   * @return true if all tiles required for the frame were loaded, false if partially rendered
+   */
+  public boolean isFullyRendered() {
+    return fullyRendered;
+  }
+
+  /**
+   * @return true if transitions are still ongoing and another frame will follow
+   */
+  public boolean isRepaintNeeded() {
+    return needsRepaint;
+  }
+
+  /**
+   * @return true if the symbol placement changed in this frame
+   */
+  public boolean isPlacementChanged() {
+    return placementChanged;
+  }
+
+  /**
+   * @return the CPU time in nanoseconds spent encoding the frame on the render thread
+   */
+  public long getCpuRenderTime() {
+    return cpuRenderTime;
+  }
+
+  /**
+   * @return the time in nanoseconds spent waiting on the GPU to swap the buffers
+   */
+  public long getGpuWaitTime() {
+    return gpuWaitTime;
+  }
+
+  /**
+   * @return the time in nanoseconds since the previous frame was started, 0 for the first frame
+   */
+  public long getFrameInterval() {
+    return frameInterval;
+  }
+
+  /**
+   * @return the time in nanoseconds a frame may take, derived from the maximum fps
+   */
+  public long getFrameBudget() {
+    return frameBudget;
+  }
+
+  /**
+   * @return true if rendering and swapping the frame exceeded the frame budget
+   */
+  public boolean isFrameDropped() {
+    return cpuRenderTime + gpuWaitTime > frameBudget;
+  }
+
+  @NonNull
+  @Override
+  public String toString() {
+    return "RenderFrameStats{"
+      + "fullyRendered=" + fullyRendered
+      + ", needsRepaint=" + needsRepaint
+      + ", placementChanged=" + placementChanged
+      + ", cpuRenderTime=" + cpuRenderTime
+      + ", gpuWaitTime=" + gpuWaitTime
+      + ", frameInterval=" + frameInterval
+      + ", frameBudget=" + frameBudget
+      + "}";
+  }
+}
@@ -0,0 +1,312 @@
+package com.mapbox.mapboxsdk.maps;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.mapbox.mapboxsdk.log.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the {@link RenderFrameStats} of a rolling window of frames into percentiles.
+ * <p>
+ * Recording a frame only copies a few primitives into a pre-allocated ring buffer. Sorting and
+ * computing percentiles happens on a background thread at a fixed interval, where the resulting
+ * {@link Report} is delivered to the {@link OnRenderStatsReportListener}.
+ * </p>
+ * <pre>
+ * RenderStatsAggregator aggregator = new RenderStatsAggregator(600, 10_000, listener);
+ * mapView.addOnRenderFrameStatsListener(aggregator);
+ * aggregator.start();
+ * </pre>
+ */
+public class RenderStatsAggregator implements MapView.OnRenderFrameStatsListener {
+
+  private static final String TAG = "Mbgl-RenderStatsAggregator";
+
+  private static final int FLAG_DROPPED = 1;
+  private static final int FLAG_PARTIAL = 1 << 1;
+  private static final int FLAG_PLACEMENT_CHANGED = 1 << 2;
+
+  private final int windowSize;
+  private final long reportInterval;
+  @NonNull
+  private final OnRenderStatsReportListener listener;
+
+  // Guarded by lock
+  private final Object lock = new Object();
+  private final long[] cpuRenderTimes;
+  private final long[] gpuWaitTimes;
+  private final long[] frameIntervals;
+  private final byte[] flags;
+  private int position;
+  private int size;
+
+  @Nullable
+  private ScheduledExecutorService executor;
+
+  /**
+   * Create an aggregator over the given number of most recent frames.
+   *
+   * @param windowSize           the number of most recent frames aggregated in a report
+   * @param reportIntervalMillis the interval in milliseconds at which reports are delivered
+   * @param listener             the listener invoked on a background thread with each report
+   */
+  public RenderStatsAggregator(int windowSize, long reportIntervalMillis,
+                               @NonNull OnRenderStatsReportListener listener) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("windowSize must be positive");
+    }
+    if (reportIntervalMillis <= 0) {
+      throw new IllegalArgumentException("reportIntervalMillis must be positive");
+    }
+    this.windowSize = windowSize;
+    this.reportInterval = reportIntervalMillis;
+    this.listener = listener;
+    this.cpuRenderTimes = new long[windowSize];
+    this.gpuWaitTimes = new long[windowSize];
+    this.frameIntervals = new long[windowSize];
+    this.flags = new byte[windowSize];
+  }
+
+  /**
+   * Start delivering reports at the configured interval.
+   */
+  public synchronized void start() {
+    if (executor != null) {
+      return;
+    }
+    executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(@NonNull Runnable runnable) {
+        Thread thread = new Thread(runnable, "Mbgl-RenderStats");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+      }
+    });
+    executor.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Report report = createReport();
+          if (report != null) {
+            listener.onRenderStatsReport(report);
+          }
+        } catch (RuntimeException exception) {
+          Logger.e(TAG, "Exception in onRenderStatsReport", exception);
+        }
+      }
+    }, reportInterval, reportInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stop delivering reports and release the background thread.
+   */
+  public synchronized void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  @Override
+  public void onRenderFrameStats(@NonNull RenderFrameStats stats) {
+    int frameFlags = 0;
+    if (stats.isFrameDropped()) {
+      frameFlags |= FLAG_DROPPED;
+    }
+    if (!stats.isFullyRendered()) {
+      frameFlags |= FLAG_PARTIAL;
+    }
+    if (stats.isPlacementChanged()) {
+      frameFlags |= FLAG_PLACEMENT_CHANGED;
+    }
+
+    synchronized (lock) {
+      cpuRenderTimes[position] = stats.getCpuRenderTime();
+      gpuWaitTimes[position] = stats.getGpuWaitTime();
+      frameIntervals[position] = stats.getFrameInterval();
+      flags[position] = (byte) frameFlags;
+      position = (position + 1) % windowSize;
+      if (size < windowSize) {
+        size++;
+      }
+    }
+  }
+
+  /**
+   * Build a report of the frames currently in the window.
+   *
+   * @return the report, or null if no frame was recorded yet
+   */
+  @Nullable
+  @VisibleForTesting
+  Report createReport() {
+    long[] cpu;
+    long[] gpu;
+    long[] intervals;
+    byte[] frameFlags;
+    synchronized (lock) {
+      if (size == 0) {
+        return null;
+      }
+      cpu = Arrays.copyOf(cpuRenderTimes, size);
+      gpu = Arrays.copyOf(gpuWaitTimes, size);
+      intervals = Arrays.copyOf(frameIntervals, size);
+      frameFlags = Arrays.copyOf(flags, size);
+    }
+
+    int dropped = 0;
+    int partial = 0;
+    int placementChanged = 0;
+    for (byte frameFlag : frameFlags) {
+      if ((frameFlag & FLAG_DROPPED) != 0) {
+        dropped++;
+      }
+      if ((frameFlag & FLAG_PARTIAL) != 0) {
+        partial++;
+      }
+      if ((frameFlag & FLAG_PLACEMENT_CHANGED) != 0) {
+        placementChanged++;
+      }
+    }
+
+    // The first frame after start has no interval
+    int intervalCount = 0;
+    for (long interval : intervals) {
+      if (interval > 0) {
+        intervals[intervalCount++] = interval;
+      }
+    }
+    intervals = Arrays.copyOf(intervals, intervalCount);
+
+    Arrays.sort(cpu);
+    Arrays.sort(gpu);
+    Arrays.sort(intervals);
+    return new Report(frameFlags.length, dropped, partial, placementChanged, cpu, gpu, intervals);
+  }
+
+  /**
+   * Interface definition for a callback to be invoked with aggregated render statistics.
+   */
+  public interface OnRenderStatsReportListener {
+    /**
+     * Called on a background thread at the report interval.
+     *
+     * @param report the statistics of the frames in the window
+     */
+    void onRenderStatsReport(@NonNull Report report);
+  }
+
+  /**
+   * Render statistics aggregated over a window of frames. All times are in nanoseconds.
+   */
+  public static final class Report {
+
+    private final int frameCount;
+    private final int droppedFrameCount;
+    private final int partialFrameCount;
+    private final int placementChangedFrameCount;
+    private final long[] sortedCpuRenderTimes;
+    private final long[] sortedGpuWaitTimes;
+    private final long[] sortedFrameIntervals;
+
+    Report(int frameCount, int droppedFrameCount, int partialFrameCount, int placementChangedFrameCount,
+           long[] sortedCpuRenderTimes, long[] sortedGpuWaitTimes, long[] sortedFrameIntervals) {
+      this.frameCount = frameCount;
+      this.droppedFrameCount = droppedFrameCount;
+      this.partialFrameCount = partialFrameCount;
+      this.placementChangedFrameCount = placementChangedFrameCount;
+      this.sortedCpuRenderTimes = sortedCpuRenderTimes;
+      this.sortedGpuWaitTimes = sortedGpuWaitTimes;
+      this.sortedFrameIntervals = sortedFrameIntervals;
+    }
+
+    /**
+     * @return the number of frames in the window
+     */
+    public int getFrameCount() {
+      return frameCount;
+    }
+
+    /**
+     * @return the number of frames that exceeded the frame budget
+     */
+    public int getDroppedFrameCount() {
+      return droppedFrameCount;
+    }
+
+    /**
+     * @return the number of partially rendered frames
+     */
+    public int getPartialFrameCount() {
+      return partialFrameCount;
+    }
+
+    /**
+     * @return the number of frames in which the symbol placement changed
+     */
+    public int getPlacementChangedFrameCount() {
+      return placementChangedFrameCount;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the CPU render time at the given percentile
+     */
+    public long getCpuRenderTime(double percentile) {
+      return percentile(sortedCpuRenderTimes, percentile);
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the GPU wait time at the given percentile
+     */
+    public long getGpuWaitTime(double percentile) {
+      return percentile(sortedGpuWaitTimes, percentile);
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the interval between frames at the given percentile, 0 if unknown
+     */
+    public long getFrameInterval(double percentile) {
+      return percentile(sortedFrameIntervals, percentile);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+      if (percentile < 0 || percentile > 100) {
+        throw new IllegalArgumentException("percentile must be between 0 and 100");
+      }
+      if (sorted.length == 0) {
+        return 0;
+      }
+      // Nearest-rank method
+      int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+      return sorted[Math.max(0, rank - 1)];
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      return "Report{"
+        + "frameCount=" + frameCount
+        + ", droppedFrameCount=" + droppedFrameCount
+        + ", partialFrameCount=" + partialFrameCount
+        + ", placementChangedFrameCount=" + placementChangedFrameCount
+        + ", cpuRenderTimeP50=" + getCpuRenderTime(50)
+        + ", cpuRenderTimeP99=" + getCpuRenderTime(99)
+        + ", gpuWaitTimeP50=" + getGpuWaitTime(50)
+        + ", gpuWaitTimeP99=" + getGpuWaitTime(99)
+        + ", frameIntervalP50=" + getFrameInterval(50)
+        + ", frameIntervalP99=" + getFrameInterval(99)
+        + "}";
+    }
+  }
+}
@@ -304,6 +304,33 @@ public class Style {
     return nativeMap.removeLayerAt(index);
   }
 
+  /**
+   * Begin a transaction to change properties, filters and visibility of multiple layers at once.
+   * <p>
+   * The changes are applied to the style with a single update when the transaction is committed.
+   * </p>
+   *
+   * @return the transaction
+   * @see StyleTransaction
+   */
+  @NonNull
+  public StyleTransaction beginTransaction() {
+    validateState("beginTransaction");
+    return new StyleTransaction(this);
+  }
+
+  /**
+   * Applies the changes of a transaction, each change is defined by the entries at the same index.
+   *
+   * @param layerIds the ids of the changed layers
+   * @param names    the names of the changed properties
+   * @param values   the converted property values
+   */
+  void setLayerProperties(@NonNull String[] layerIds, @NonNull String[] names, @NonNull Object[] values) {
+    validateState("commit");
+    nativeMap.setLayerProperties(layerIds, names, values);
+  }
+
   //
   // Image
   //
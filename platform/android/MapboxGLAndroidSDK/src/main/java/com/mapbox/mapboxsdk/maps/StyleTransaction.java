@@ -0,0 +1,164 @@
+package com.mapbox.mapboxsdk.maps;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mapbox.mapboxsdk.style.expressions.Expression;
+import com.mapbox.mapboxsdk.style.layers.Layer;
+import com.mapbox.mapboxsdk.style.layers.Property;
+import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
+import com.mapbox.mapboxsdk.style.layers.PropertyValue;
+import com.mapbox.mapboxsdk.style.types.Formatted;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects property, filter and visibility changes of multiple layers and applies them at once.
+ * <p>
+ * Setting properties on a {@link Layer} directly applies and re-evaluates the style for every single property.
+ * A transaction ships all changes to the map in one call when {@link #commit()} is invoked, and the style is
+ * updated once for all of them:
+ * </p>
+ * <pre>
+ * style.beginTransaction()
+ *   .setProperties("water", fillColor(Color.BLUE), fillOpacity(0.8f))
+ *   .setFilter("roads", eq(get("class"), "primary"))
+ *   .setVisibility("poi-labels", false)
+ *   .commit();
+ * </pre>
+ * <p>
+ * Changes are grouped per layer, a later change of the same property of a layer replaces an earlier one.
+ * Changes for layers that are not part of the style when committing are ignored.
+ * </p>
+ */
+public final class StyleTransaction {
+
+  private static final String FILTER = "filter";
+
+  @NonNull
+  private final Style style;
+  private final Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+  private int size;
+
+  StyleTransaction(@NonNull Style style) {
+    this.style = style;
+  }
+
+  /**
+   * Set properties of a layer.
+   *
+   * @param layerId    the id of the layer
+   * @param properties the properties to set
+   * @return this transaction
+   */
+  @NonNull
+  public StyleTransaction setProperties(@NonNull String layerId, @NonNull PropertyValue<?>... properties) {
+    for (PropertyValue<?> property : properties) {
+      put(layerId, property.name, convertValue(property.value));
+    }
+    return this;
+  }
+
+  /**
+   * Set properties of a layer.
+   *
+   * @param layer      the layer
+   * @param properties the properties to set
+   * @return this transaction
+   */
+  @NonNull
+  public StyleTransaction setProperties(@NonNull Layer layer, @NonNull PropertyValue<?>... properties) {
+    return setProperties(layer.getId(), properties);
+  }
+
+  /**
+   * Set the filter of a layer.
+   *
+   * @param layerId the id of the layer
+   * @param filter  the expression filter to set
+   * @return this transaction
+   */
+  @NonNull
+  public StyleTransaction setFilter(@NonNull String layerId, @NonNull Expression filter) {
+    put(layerId, FILTER, filter.toArray());
+    return this;
+  }
+
+  /**
+   * Set the visibility of a layer.
+   *
+   * @param layerId the id of the layer
+   * @param visible true to show the layer, false to hide it
+   * @return this transaction
+   */
+  @NonNull
+  public StyleTransaction setVisibility(@NonNull String layerId, boolean visible) {
+    return setProperties(layerId, PropertyFactory.visibility(visible ? Property.VISIBLE : Property.NONE));
+  }
+
+  /**
+   * @return the number of changes in this transaction
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if this transaction doesn't contain any changes
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Apply all changes to the style and clear this transaction, so it can be reused.
+   *
+   * @throws IllegalStateException if the style is no longer loaded
+   */
+  public void commit() {
+    if (size == 0) {
+      return;
+    }
+
+    String[] layerIds = new String[size];
+    String[] names = new String[size];
+    Object[] values = new Object[size];
+    int index = 0;
+    for (Map.Entry<String, Map<String, Object>> layerChanges : changes.entrySet()) {
+      for (Map.Entry<String, Object> change : layerChanges.getValue().entrySet()) {
+        layerIds[index] = layerChanges.getKey();
+        names[index] = change.getKey();
+        values[index] = change.getValue();
+        index++;
+      }
+    }
+    changes.clear();
+    size = 0;
+
+    style.setLayerProperties(layerIds, names, values);
+  }
+
+  private void put(@NonNull String layerId, @NonNull String name, @Nullable Object value) {
+    Map<String, Object> layerChanges = changes.get(layerId);
+    if (layerChanges == null) {
+      layerChanges = new LinkedHashMap<>();
+      changes.put(layerId, layerChanges);
+    }
+    if (!layerChanges.containsKey(name)) {
+      size++;
+    }
+    layerChanges.put(name, value);
+  }
+
+  @Nullable
+  private static Object convertValue(@Nullable Object value) {
+    if (value instanceof Expression) {
+      return ((Expression) value).toArray();
+    } else if (value instanceof Formatted) {
+      return ((Formatted) value).toArray();
+    } else {
+      return value;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import android.content.Context;
 import androidx.annotation.CallSuper;
 import androidx.annotation.Keep;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.mapbox.mapboxsdk.LibraryLoader;
 import com.mapbox.mapboxsdk.log.Logger;
@@ -29,11 +30,20 @@ public abstract class MapRenderer implements MapRendererScheduler {
 
   private static final String TAG = "Mbgl-MapRenderer";
 
+  // Frame budget used to flag dropped frames when no maximum fps is set
+  private static final double DEFAULT_FRAME_BUDGET = 1E9 / 60;
+
   // Holds the pointer to the native peer after initialisation
   private long nativePtr = 0;
   private double expectedRenderTime = 0;
   private MapboxMap.OnFpsChangedListener onFpsChangedListener;
 
+  // Timings of the last frame, written on the GL thread
+  private long frameStartTime;
+  private volatile long frameRenderTime;
+  private volatile long frameSwapTime;
+  private volatile long frameInterval;
+
   public MapRenderer(@NonNull Context context, String localIdeographFontFamily) {
     float pixelRatio = context.getResources().getDisplayMetrics().density;
 
@@ -90,6 +100,9 @@ public abstract class MapRenderer implements MapRendererScheduler {
       Logger.e(TAG, error.getMessage());
     }
     long renderTime = System.nanoTime() - startTime;
+    frameRenderTime = renderTime;
+    frameInterval = frameStartTime != 0 ? startTime - frameStartTime : 0;
+    frameStartTime = startTime;
     if (renderTime < expectedRenderTime) {
       try {
         Thread.sleep((long) ((expectedRenderTime - renderTime) / 1E6));
@@ -102,6 +115,52 @@ public abstract class MapRenderer implements MapRendererScheduler {
     }
   }
 
+  /**
+   * Called on the GL thread once the frame drawn in {@link #onDrawFrame(GL10)} has been swapped.
+   *
+   * @param swapTime the time in nanoseconds spent swapping the buffers, waiting on the GPU
+   */
+  @CallSuper
+  protected void onBuffersSwapped(long swapTime) {
+    frameSwapTime = swapTime;
+  }
+
+  /**
+   * May be called from any thread.
+   *
+   * @return the CPU time in nanoseconds spent rendering the last frame
+   */
+  public long getFrameRenderTime() {
+    return frameRenderTime;
+  }
+
+  /**
+   * May be called from any thread.
+   *
+   * @return the time in nanoseconds spent waiting on the GPU to swap the buffers of the last frame
+   */
+  public long getFrameSwapTime() {
+    return frameSwapTime;
+  }
+
+  /**
+   * May be called from any thread.
+   *
+   * @return the time in nanoseconds between the start of the last two frames, 0 before the second frame
+   */
+  public long getFrameInterval() {
+    return frameInterval;
+  }
+
+  /**
+   * May be called from any thread.
+   *
+   * @return the time in nanoseconds a frame may take without being dropped, based on the maximum fps
+   */
+  public long getFrameBudget() {
+    return (long) (expectedRenderTime > 0 ? expectedRenderTime : DEFAULT_FRAME_BUDGET);
+  }
+
   /**
    * May be called from any thread.
    * <p>
@@ -116,6 +175,18 @@ public abstract class MapRenderer implements MapRendererScheduler {
     this.queueEvent((Runnable) runnable);
   }
 
+  /**
+   * May be called from any thread.
+   * <p>
+   * Returns the queue of events scheduled on the GL thread, exposing its depth and wait time statistics.
+   *
+   * @return the event queue, or null if this renderer doesn't expose one
+   */
+  @Nullable
+  public MapRendererEventQueue getEventQueue() {
+    return null;
+  }
+
   private native void nativeInitialize(MapRenderer self,
                                        float pixelRatio,
                                        String localIdeographFontFamily);
@@ -0,0 +1,245 @@
+package com.mapbox.mapboxsdk.maps.renderer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Multi-producer, single-consumer queue of events to be executed on the render thread.
+ * <p>
+ * Producers never contend on a lock to enqueue an event: the queue is an intrusive linked list
+ * where producers only swap the tail atomically. The consumer, the render thread, drains the
+ * events that are pending at the start of a batch in one go, outside of the lock that guards the
+ * render loop. The render thread lock is only taken by a producer when the render thread is
+ * parked on it waiting for work.
+ * </p>
+ * <p>
+ * The queue keeps track of its depth and of the time events spend waiting to be executed.
+ * </p>
+ */
+public final class MapRendererEventQueue {
+
+  // Monitor the render thread waits on when there is no work
+  @NonNull
+  private final Object lock;
+
+  // Producer side, swapped atomically on each offer
+  private final AtomicReference<Node> tail;
+
+  // Consumer side, only touched by the render thread
+  @NonNull
+  private Node head;
+
+  // Set by the render thread right before it waits on the lock
+  private volatile boolean consumerWaiting;
+
+  private final AtomicInteger depth = new AtomicInteger();
+  private final AtomicInteger peakDepth = new AtomicInteger();
+
+  // Written by the render thread only
+  private volatile long executedEvents;
+  private volatile long executedBatches;
+  private volatile long totalWaitTimeNanos;
+  private volatile long maxWaitTimeNanos;
+
+  /**
+   * Create an event queue whose consumer waits on the given monitor.
+   *
+   * @param lock the monitor the render thread waits on when idle
+   */
+  public MapRendererEventQueue(@NonNull Object lock) {
+    this.lock = lock;
+    Node stub = new Node(null);
+    this.head = stub;
+    this.tail = new AtomicReference<>(stub);
+  }
+
+  /**
+   * May be called from any thread.
+   * <p>
+   * Adds an event to the queue and wakes up the render thread if it is waiting for work.
+   *
+   * @param runnable the event to execute on the render thread
+   */
+  public void offer(@NonNull Runnable runnable) {
+    if (runnable == null) {
+      throw new IllegalArgumentException("runnable must not be null");
+    }
+
+    Node node = new Node(runnable);
+    int currentDepth = depth.incrementAndGet();
+    updatePeakDepth(currentDepth);
+
+    Node previous = tail.getAndSet(node);
+    previous.next = node;
+
+    if (consumerWaiting) {
+      synchronized (lock) {
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Render thread only.
+   *
+   * @return true if there are events waiting to be executed
+   */
+  public boolean hasEvents() {
+    return head.next != null;
+  }
+
+  /**
+   * Render thread only, must be called while holding the lock.
+   * <p>
+   * Announces the render thread is about to wait on the lock. Returns false when events were
+   * queued in the meantime, in which case the render thread should not wait.
+   * </p>
+   *
+   * @return true if it is safe to wait on the lock
+   */
+  public boolean prepareToWait() {
+    consumerWaiting = true;
+    if (hasEvents()) {
+      consumerWaiting = false;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Render thread only.
+   * <p>
+   * Announces the render thread has stopped waiting on the lock.
+   * </p>
+   */
+  public void finishWait() {
+    consumerWaiting = false;
+  }
+
+  /**
+   * Render thread only, must be called without holding the lock.
+   * <p>
+   * Executes the events that are queued when this method is called. Events queued while the
+   * batch is executing are left for the next batch, so a burst of events can't starve the
+   * render loop.
+   * </p>
+   *
+   * @return the number of executed events
+   */
+  public int drain() {
+    int batchSize = depth.get();
+    int executed = 0;
+    long waitTime = 0;
+    long maxWait = maxWaitTimeNanos;
+
+    while (executed < batchSize) {
+      Node node = head.next;
+      if (node == null) {
+        // A producer swapped the tail but hasn't linked its node yet
+        break;
+      }
+
+      Runnable runnable = node.runnable;
+      long wait = System.nanoTime() - node.enqueueTimeNanos;
+      node.runnable = null;
+      head = node;
+      depth.decrementAndGet();
+
+      waitTime += wait;
+      if (wait > maxWait) {
+        maxWait = wait;
+      }
+      executed++;
+
+      runnable.run();
+    }
+
+    if (executed > 0) {
+      executedEvents += executed;
+      executedBatches++;
+      totalWaitTimeNanos += waitTime;
+      maxWaitTimeNanos = maxWait;
+    }
+    return executed;
+  }
+
+  /**
+   * @return the number of events currently waiting to be executed
+   */
+  public int getDepth() {
+    return depth.get();
+  }
+
+  /**
+   * @return the highest number of events waiting to be executed since the last reset
+   */
+  public int getPeakDepth() {
+    return peakDepth.get();
+  }
+
+  /**
+   * @return the number of events executed since the last reset
+   */
+  public long getExecutedEventCount() {
+    return executedEvents;
+  }
+
+  /**
+   * @return the number of batches drained since the last reset
+   */
+  public long getExecutedBatchCount() {
+    return executedBatches;
+  }
+
+  /**
+   * @return the mean time in nanoseconds events waited before being executed, 0 if none executed
+   */
+  public long getAverageWaitTimeNanos() {
+    long events = executedEvents;
+    return events == 0 ? 0 : totalWaitTimeNanos / events;
+  }
+
+  /**
+   * @return the longest time in nanoseconds an event waited before being executed
+   */
+  public long getMaxWaitTimeNanos() {
+    return maxWaitTimeNanos;
+  }
+
+  /**
+   * Reset the collected statistics. Pending events are not affected.
+   */
+  public void resetStatistics() {
+    peakDepth.set(depth.get());
+    executedEvents = 0;
+    executedBatches = 0;
+    totalWaitTimeNanos = 0;
+    maxWaitTimeNanos = 0;
+  }
+
+  private void updatePeakDepth(int currentDepth) {
+    int peak;
+    do {
+      peak = peakDepth.get();
+      if (currentDepth <= peak) {
+        return;
+      }
+    } while (!peakDepth.compareAndSet(peak, currentDepth));
+  }
+
+  private static final class Node {
+
+    @Nullable
+    private Runnable runnable;
+    private final long enqueueTimeNanos;
+    private volatile Node next;
+
+    Node(@Nullable Runnable runnable) {
+      this.runnable = runnable;
+      this.enqueueTimeNanos = runnable != null ? System.nanoTime() : 0;
+    }
+  }
+}
@@ -6,6 +6,7 @@ import android.opengl.GLSurfaceView;
 import androidx.annotation.NonNull;
 
 import com.mapbox.mapboxsdk.maps.renderer.MapRenderer;
+import com.mapbox.mapboxsdk.maps.renderer.MapRendererEventQueue;
 import com.mapbox.mapboxsdk.maps.renderer.egl.EGLConfigChooser;
 import com.mapbox.mapboxsdk.maps.renderer.egl.EGLContextFactory;
 import com.mapbox.mapboxsdk.maps.renderer.egl.EGLWindowSurfaceFactory;
@@ -47,6 +48,12 @@ public class GLSurfaceViewMapRenderer extends MapRenderer implements GLSurfaceVi
         nativeReset();
       }
     });
+    glSurfaceView.setBuffersSwappedListener(new MapboxGLSurfaceView.OnBuffersSwappedListener() {
+      @Override
+      public void onBuffersSwapped(long swapTime) {
+        GLSurfaceViewMapRenderer.this.onBuffersSwapped(swapTime);
+      }
+    });
   }
 
   @Override
@@ -116,4 +123,13 @@ public class GLSurfaceViewMapRenderer extends MapRenderer implements GLSurfaceVi
     glSurfaceView.queueEvent(runnable);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public MapRendererEventQueue getEventQueue() {
+    return glSurfaceView.getEventQueue();
+  }
+
 }
\ No newline at end of file
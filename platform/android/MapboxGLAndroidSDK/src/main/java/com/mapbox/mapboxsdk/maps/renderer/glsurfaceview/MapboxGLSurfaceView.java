@@ -9,11 +9,11 @@ import android.view.SurfaceView;
 
 import androidx.annotation.NonNull;
 
+import com.mapbox.mapboxsdk.maps.renderer.MapRendererEventQueue;
 import com.mapbox.mapboxsdk.maps.renderer.egl.EGLLogWrapper;
 
 import java.io.Writer;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 
 import javax.microedition.khronos.egl.EGL10;
 import javax.microedition.khronos.egl.EGL11;
@@ -42,6 +42,7 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
   private GLSurfaceView.EGLContextFactory eglContextFactory;
   private GLSurfaceView.EGLWindowSurfaceFactory eglWindowSurfaceFactory;
   private OnGLSurfaceViewDetachedListener detachedListener;
+  private OnBuffersSwappedListener buffersSwappedListener;
 
   private boolean preserveEGLContextOnPause;
   private boolean detached;
@@ -96,6 +97,15 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
     this.detachedListener = detachedListener;
   }
 
+  /**
+   * Set a listener that gets notified on the GL thread when the buffers of a frame have been swapped.
+   *
+   * @param buffersSwappedListener listener
+   */
+  public void setBuffersSwappedListener(@NonNull OnBuffersSwappedListener buffersSwappedListener) {
+    this.buffersSwappedListener = buffersSwappedListener;
+  }
+
   /**
    * Control whether the EGL context is preserved when the GLSurfaceView is paused and
    * resumed.
@@ -317,6 +327,17 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
     glThread.queueEvent(r);
   }
 
+  /**
+   * Get the queue of events to be run on the GL rendering thread, to inspect its statistics.
+   * Must not be called before a renderer has been set.
+   *
+   * @return the event queue of the current GL rendering thread
+   */
+  @NonNull
+  public MapRendererEventQueue getEventQueue() {
+    return glThread.eventQueue;
+  }
+
   /**
    * This method is used as part of the View class and is not normally
    * called or subclassed by clients of GLSurfaceView.
@@ -614,7 +635,7 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
         boolean askedToReleaseEglContext = false;
         int w = 0;
         int h = 0;
-        Runnable event = null;
+        boolean drainEvents = false;
         Runnable finishDrawingRunnable = null;
 
         while (true) {
@@ -624,8 +645,8 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
                 return;
               }
 
-              if (!eventQueue.isEmpty()) {
-                event = eventQueue.remove(0);
+              if (eventQueue.hasEvents()) {
+                drainEvents = true;
                 break;
               }
 
@@ -750,13 +771,19 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
                 }
               }
               // By design, this is the only place in a GLThread thread where we wait().
-              glThreadManager.wait();
+              if (eventQueue.prepareToWait()) {
+                try {
+                  glThreadManager.wait();
+                } finally {
+                  eventQueue.finishWait();
+                }
+              }
             }
           } // end of synchronized(sGLThreadManager)
 
-          if (event != null) {
-            event.run();
-            event = null;
+          if (drainEvents) {
+            eventQueue.drain();
+            drainEvents = false;
             continue;
           }
 
@@ -807,7 +834,11 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
               finishDrawingRunnable = null;
             }
           }
+          long swapStartTime = System.nanoTime();
           int swapError = eglHelper.swap();
+          if (view != null && view.buffersSwappedListener != null) {
+            view.buffersSwappedListener.onBuffersSwapped(System.nanoTime() - swapStartTime);
+          }
           switch (swapError) {
             case EGL10.EGL_SUCCESS:
               break;
@@ -1013,10 +1044,7 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
      * @param r the runnable to be run on the GL rendering thread.
      */
     public void queueEvent(@NonNull Runnable r) {
-      synchronized (glThreadManager) {
-        eventQueue.add(r);
-        glThreadManager.notifyAll();
-      }
+      eventQueue.offer(r);
     }
 
     // Once the thread is started, all accesses to the following member
@@ -1038,11 +1066,13 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
     private boolean requestRender;
     private boolean wantRenderNotification;
     private boolean renderComplete;
-    private ArrayList<Runnable> eventQueue = new ArrayList<>();
     private boolean sizeChanged = true;
     private Runnable finishDrawingRunnable = null;
     // End of member variables protected by the sGLThreadManager monitor.
 
+    // Lock-free, the sGLThreadManager monitor is only taken to wake up this thread
+    private final MapRendererEventQueue eventQueue = new MapRendererEventQueue(glThreadManager);
+
     private EglHelper eglHelper;
 
     /**
@@ -1120,4 +1150,17 @@ public class MapboxGLSurfaceView extends SurfaceView implements SurfaceHolder.Ca
      */
     void onGLSurfaceViewDetached();
   }
+
+  /**
+   * Listener interface that notifies when the buffers of a frame have been swapped.
+   */
+  public interface OnBuffersSwappedListener {
+
+    /**
+     * Called on the GL thread when the buffers of a frame have been swapped.
+     *
+     * @param swapTime the time in nanoseconds spent swapping the buffers
+     */
+    void onBuffersSwapped(long swapTime);
+  }
 }
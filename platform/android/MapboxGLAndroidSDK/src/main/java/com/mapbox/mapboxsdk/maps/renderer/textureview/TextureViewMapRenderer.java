@@ -6,6 +6,7 @@ import android.view.TextureView;
 import androidx.annotation.NonNull;
 
 import com.mapbox.mapboxsdk.maps.renderer.MapRenderer;
+import com.mapbox.mapboxsdk.maps.renderer.MapRendererEventQueue;
 
 import javax.microedition.khronos.egl.EGLConfig;
 import javax.microedition.khronos.opengles.GL10;
@@ -70,6 +71,14 @@ public class TextureViewMapRenderer extends MapRenderer {
     super.onDrawFrame(gl);
   }
 
+  /**
+   * Overridden to provide package access
+   */
+  @Override
+  protected void onBuffersSwapped(long swapTime) {
+    super.onBuffersSwapped(swapTime);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -86,6 +95,15 @@ public class TextureViewMapRenderer extends MapRenderer {
     renderThread.queueEvent(runnable);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @NonNull
+  @Override
+  public MapRendererEventQueue getEventQueue() {
+    return renderThread.getEventQueue();
+  }
+
   /**
    * {@inheritDoc}
    */
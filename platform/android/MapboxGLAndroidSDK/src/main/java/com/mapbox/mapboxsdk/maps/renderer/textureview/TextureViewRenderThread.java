@@ -8,10 +8,10 @@ import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
 
 import com.mapbox.mapboxsdk.log.Logger;
+import com.mapbox.mapboxsdk.maps.renderer.MapRendererEventQueue;
 import com.mapbox.mapboxsdk.maps.renderer.egl.EGLConfigChooser;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
 
 import javax.microedition.khronos.egl.EGL10;
 import javax.microedition.khronos.egl.EGL11;
@@ -38,8 +38,10 @@ class TextureViewRenderThread extends Thread implements TextureView.SurfaceTextu
   // Lock used for synchronization
   private final Object lock = new Object();
 
+  // Lock-free, the lock is only taken to wake up the render thread
+  private final MapRendererEventQueue eventQueue = new MapRendererEventQueue(lock);
+
   // Guarded by lock
-  private final ArrayList<Runnable> eventQueue = new ArrayList<>();
   @Nullable
   private SurfaceTexture surface;
   private int width;
@@ -126,13 +128,15 @@ class TextureViewRenderThread extends Thread implements TextureView.SurfaceTextu
    * May be called from any thread
    */
   void queueEvent(@NonNull Runnable runnable) {
-    if (runnable == null) {
-      throw new IllegalArgumentException("runnable must not be null");
-    }
-    synchronized (lock) {
-      eventQueue.add(runnable);
-      lock.notifyAll();
-    }
+    eventQueue.offer(runnable);
+  }
+
+  /**
+   * May be called from any thread
+   */
+  @NonNull
+  MapRendererEventQueue getEventQueue() {
+    return eventQueue;
   }
 
 
@@ -177,7 +181,7 @@ class TextureViewRenderThread extends Thread implements TextureView.SurfaceTextu
     try {
 
       while (true) {
-        Runnable event = null;
+        boolean drainEvents = false;
         boolean initializeEGL = false;
         boolean recreateSurface = false;
         int w = -1;
@@ -191,9 +195,9 @@ class TextureViewRenderThread extends Thread implements TextureView.SurfaceTextu
               return;
             }
 
-            // If any events are scheduled, pop one for processing
-            if (!eventQueue.isEmpty()) {
-              event = eventQueue.remove(0);
+            // If any events are scheduled, process them as a batch
+            if (eventQueue.hasEvents()) {
+              drainEvents = true;
               break;
             }
 
@@ -236,15 +240,21 @@ class TextureViewRenderThread extends Thread implements TextureView.SurfaceTextu
 
 
             // Wait until needed
-            lock.wait();
+            if (eventQueue.prepareToWait()) {
+              try {
+                lock.wait();
+              } finally {
+                eventQueue.finishWait();
+              }
+            }
 
           } // end guarded while loop
 
         } // end guarded block
 
-        // Run event, if any
-        if (event != null) {
-          event.run();
+        // Run events, if any
+        if (drainEvents) {
+          eventQueue.drain();
           continue;
         }
 
@@ -290,7 +300,9 @@ class TextureViewRenderThread extends Thread implements TextureView.SurfaceTextu
         mapRenderer.onDrawFrame(gl);
 
         // Swap and check the result
+        long swapStartTime = System.nanoTime();
         int swapError = eglHolder.swap();
+        mapRenderer.onBuffersSwapped(System.nanoTime() - swapStartTime);
         switch (swapError) {
           case EGL10.EGL_SUCCESS:
             break;
@@ -0,0 +1,130 @@
+package com.mapbox.mapboxsdk.style.expressions;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.mapbox.geojson.Feature;
+import com.mapbox.mapboxsdk.exceptions.ExpressionEvaluationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link Expression} compiled for evaluation on the JVM, without a map or renderer.
+ * <p>
+ * This allows to evaluate the same filters and data-driven values that are used in a style, for example to
+ * filter features before adding them to a source:
+ * </p>
+ * <pre>
+ * CompiledExpression filter = CompiledExpression.compile(gt(get("population"), 10000));
+ * source.setGeoJson(FeatureCollection.fromFeatures(filter.filter(features, 12)));
+ * </pre>
+ * <p>
+ * The expression is compiled once into a tree of nodes, parts that don't depend on the feature or the zoom
+ * level are evaluated while compiling. Evaluated values are null, {@link Boolean}, {@link Double},
+ * {@link String}, {@link List} or {@link java.util.Map}.
+ * </p>
+ * <p>
+ * Color, collator, formatted, image and heatmap or line progress expressions are not supported, as well as
+ * within and distance. Expressions are not type checked against a property, so a value used for a property
+ * is not converted to the type of that property.
+ * </p>
+ */
+public final class CompiledExpression {
+
+  @NonNull
+  private final ExpressionCompiler.Node root;
+
+  private CompiledExpression(@NonNull ExpressionCompiler.Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Compile an expression.
+   *
+   * @param expression the expression to compile
+   * @return the compiled expression
+   * @throws IllegalArgumentException if the expression is invalid or uses an unsupported operator
+   */
+  @NonNull
+  public static CompiledExpression compile(@NonNull Expression expression) {
+    return new CompiledExpression(ExpressionCompiler.compile(expression.toArray()));
+  }
+
+  /**
+   * @return true if the expression doesn't depend on feature data
+   */
+  public boolean isFeatureConstant() {
+    return root.featureConstant;
+  }
+
+  /**
+   * @return true if the expression doesn't depend on the zoom level
+   */
+  public boolean isZoomConstant() {
+    return root.zoomConstant;
+  }
+
+  /**
+   * Evaluate the expression.
+   *
+   * @param context the zoom level and feature to evaluate against
+   * @return the value of the expression
+   * @throws ExpressionEvaluationException if the expression failed to evaluate
+   */
+  @Nullable
+  public Object evaluate(@NonNull EvaluationContext context) {
+    return root.evaluate(context);
+  }
+
+  /**
+   * Evaluate the expression for a feature.
+   *
+   * @param zoom    the zoom level
+   * @param feature the feature
+   * @return the value of the expression
+   * @throws ExpressionEvaluationException if the expression failed to evaluate
+   */
+  @Nullable
+  public Object evaluate(double zoom, @NonNull Feature feature) {
+    return root.evaluate(EvaluationContext.fromFeature(zoom, feature));
+  }
+
+  /**
+   * Evaluate the expression as a filter for a feature.
+   * <p>
+   * Like a layer filter, a feature only matches if the expression evaluates to true.
+   * An expression that fails to evaluate doesn't match.
+   * </p>
+   *
+   * @param zoom    the zoom level
+   * @param feature the feature
+   * @return true if the feature matches
+   */
+  public boolean matches(double zoom, @NonNull Feature feature) {
+    try {
+      return Boolean.TRUE.equals(evaluate(zoom, feature));
+    } catch (ExpressionEvaluationException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Filter features with the expression.
+   *
+   * @param features the features to filter
+   * @param zoom     the zoom level
+   * @return the features that match, in order
+   * @see #matches(double, Feature)
+   */
+  @NonNull
+  public List<Feature> filter(@NonNull List<Feature> features, double zoom) {
+    List<Feature> matching = new ArrayList<>();
+    for (Feature feature : features) {
+      if (matches(zoom, feature)) {
+        matching.add(feature);
+      }
+    }
+    return matching;
+  }
+}
@@ -0,0 +1,113 @@
+package com.mapbox.mapboxsdk.style.expressions;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonObject;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Geometry;
+
+/**
+ * The zoom level and feature data a {@link CompiledExpression} is evaluated against.
+ */
+public final class EvaluationContext {
+
+  @Nullable
+  private final JsonObject properties;
+  @Nullable
+  private final Object id;
+  @Nullable
+  private final String geometryType;
+  private final double zoom;
+
+  /**
+   * Create an evaluation context without feature data.
+   *
+   * @param zoom the zoom level
+   */
+  public EvaluationContext(double zoom) {
+    this(zoom, null, null, null);
+  }
+
+  /**
+   * Create an evaluation context.
+   *
+   * @param zoom         the zoom level
+   * @param properties   the feature properties
+   * @param id           the feature id, a String or a Number
+   * @param geometryType the feature geometry type, one of Point, LineString or Polygon
+   */
+  public EvaluationContext(double zoom, @Nullable JsonObject properties, @Nullable Object id,
+                           @Nullable String geometryType) {
+    this.zoom = zoom;
+    this.properties = properties;
+    this.id = id;
+    this.geometryType = geometryType;
+  }
+
+  /**
+   * Create an evaluation context for a feature.
+   * <p>
+   * Like the renderer, the geometry type of multi geometries is reported as the type of its parts.
+   * </p>
+   *
+   * @param zoom    the zoom level
+   * @param feature the feature
+   * @return the evaluation context
+   */
+  @NonNull
+  public static EvaluationContext fromFeature(double zoom, @NonNull Feature feature) {
+    return new EvaluationContext(zoom, feature.properties(), feature.id(), toGeometryType(feature.geometry()));
+  }
+
+  /**
+   * @return the zoom level
+   */
+  public double getZoom() {
+    return zoom;
+  }
+
+  /**
+   * @return the feature properties, null if not available
+   */
+  @Nullable
+  public JsonObject getProperties() {
+    return properties;
+  }
+
+  /**
+   * @return the feature id, null if not available
+   */
+  @Nullable
+  public Object getId() {
+    return id;
+  }
+
+  /**
+   * @return the feature geometry type, null if not available
+   */
+  @Nullable
+  public String getGeometryType() {
+    return geometryType;
+  }
+
+  @Nullable
+  private static String toGeometryType(@Nullable Geometry geometry) {
+    if (geometry == null) {
+      return null;
+    }
+    switch (geometry.type()) {
+      case "Point":
+      case "MultiPoint":
+        return "Point";
+      case "LineString":
+      case "MultiLineString":
+        return "LineString";
+      case "Polygon":
+      case "MultiPolygon":
+        return "Polygon";
+      default:
+        return "Unknown";
+    }
+  }
+}
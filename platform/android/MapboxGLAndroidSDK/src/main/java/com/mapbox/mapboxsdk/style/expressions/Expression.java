@@ -15,13 +15,13 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.mapbox.geojson.GeoJson;
 import com.mapbox.geojson.Polygon;
-import com.mapbox.geojson.gson.GeometryGeoJson;
 import com.mapbox.mapboxsdk.style.layers.PropertyFactory;
 import com.mapbox.mapboxsdk.style.layers.PropertyValue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -94,6 +94,10 @@ import static com.mapbox.mapboxsdk.utils.ColorUtils.colorToRgbaArray;
  * );
  * }
  * </pre>
+ * <p>
+ * Expressions are immutable: their hash code and their array representation are computed once and reused.
+ * Structurally equal expressions share the same array representation.
+ * </p>
  */
 public class Expression {
 
@@ -102,6 +106,11 @@ public class Expression {
   @Nullable
   private final Expression[] arguments;
 
+  // Lazily computed, see toArray() and hashCode()
+  @Nullable
+  private volatile Object[] array;
+  private int hash;
+
   /**
    * Creates an empty expression for expression literals
    */
@@ -4239,24 +4248,36 @@ public class Expression {
    * Converts the expression to Object array representation.
    * <p>
    * The output will later be converted to a JSON Object array.
+   * The array is created once and shared with structurally equal expressions, it must not be modified.
    * </p>
    *
    * @return the converted object array expression
    */
   @NonNull
   public Object[] toArray() {
-    List<Object> array = new ArrayList<>();
-    array.add(operator);
-    if (arguments != null) {
-      for (Expression argument : arguments) {
-        if (argument instanceof ValueExpression) {
-          array.add(((ValueExpression) argument).toValue());
-        } else {
-          array.add(argument.toArray());
-        }
+    Object[] result = array;
+    if (result == null) {
+      result = ArrayCache.get(this);
+      array = result;
+    }
+    return result;
+  }
+
+  @NonNull
+  private Object[] createArray() {
+    int size = arguments != null ? arguments.length : 0;
+    Object[] result = new Object[size + 1];
+    result[0] = operator;
+    for (int i = 0; i < size; i++) {
+      Expression argument = arguments[i];
+      if (argument instanceof ValueExpression) {
+        result[i + 1] = ((ValueExpression) argument).toValue();
+      } else {
+        // reuses the array of the sub expression
+        result[i + 1] = argument.toArray();
       }
     }
-    return array.toArray();
+    return result;
   }
 
   /**
@@ -4321,6 +4342,15 @@ public class Expression {
 
     Expression that = (Expression) o;
 
+    // Only structurally equal expressions share an array
+    Object[] thisArray = array;
+    if (thisArray != null && thisArray == that.array) {
+      return true;
+    }
+    if (hash != 0 && that.hash != 0 && hash != that.hash) {
+      return false;
+    }
+
     if (operator != null ? !operator.equals(that.operator) : that.operator != null) {
       return false;
     }
@@ -4334,8 +4364,12 @@ public class Expression {
    */
   @Override
   public int hashCode() {
-    int result = operator != null ? operator.hashCode() : 0;
-    result = 31 * result + Arrays.hashCode(arguments);
+    int result = hash;
+    if (result == 0) {
+      result = operator != null ? operator.hashCode() : 0;
+      result = 31 * result + Arrays.hashCode(arguments);
+      hash = result;
+    }
     return result;
   }
 
@@ -4754,6 +4788,9 @@ public class Expression {
 
     private static final Gson gson = new Gson();
 
+    private static final List<String> GEOMETRY_TYPES = Arrays.asList(
+      "Point", "MultiPoint", "LineString", "MultiLineString", "Polygon", "MultiPolygon", "GeometryCollection");
+
     /**
      * Converts a JsonArray to an expression
      *
@@ -4767,10 +4804,8 @@ public class Expression {
 
       final String operator = jsonArray.get(0).getAsString();
       final List<Expression> arguments = new ArrayList<>();
-      if (operator.equals("within")) {
-        return within(Polygon.fromJson(jsonArray.get(1).toString()));
-      } else if (operator.equals("distance")) {
-        return distance(GeometryGeoJson.fromJson(jsonArray.get(1).toString()));
+      if (operator.equals("within") || operator.equals("distance")) {
+        return convertGeoJsonExpression(operator, jsonArray);
       }
       for (int i = 1; i < jsonArray.size(); i++) {
         JsonElement jsonElement = jsonArray.get(i);
@@ -4794,6 +4829,36 @@ public class Expression {
       return new Expression(operator, arguments.toArray(new Expression[arguments.size()]));
     }
 
+    /**
+     * Converts a within or distance expression.
+     * <p>
+     * The GeoJSON is passed on as is, instead of being parsed into a geometry and serialized again.
+     * </p>
+     *
+     * @param operator  the expression operator
+     * @param jsonArray the json array to convert
+     * @return the expression
+     */
+    private static Expression convertGeoJsonExpression(@NonNull String operator, @NonNull JsonArray jsonArray) {
+      JsonElement geoJson = jsonArray.size() == 2 ? jsonArray.get(1) : null;
+      JsonElement type = geoJson instanceof JsonObject ? ((JsonObject) geoJson).get("type") : null;
+      if (!(type instanceof JsonPrimitive)) {
+        throw new IllegalArgumentException("Expected a GeoJSON geometry as argument of " + operator);
+      }
+
+      Map<String, Expression> map = new HashMap<>();
+      if (operator.equals("within")) {
+        if (!type.getAsString().equals("Polygon")) {
+          throw new IllegalArgumentException("Expected a Polygon as argument of within, but found " + type);
+        }
+        map.put("type", literal(type.getAsString()));
+      } else if (!GEOMETRY_TYPES.contains(type.getAsString())) {
+        throw new IllegalArgumentException("Expected a GeoJSON geometry as argument of distance, but found " + type);
+      }
+      map.put("json", literal(geoJson.toString()));
+      return new Expression(operator, new ExpressionMap(map));
+    }
+
     /**
      * Converts a JsonElement to an expression
      *
@@ -4911,6 +4976,11 @@ public class Expression {
 
       return Arrays.equals((Object[]) this.literal, (Object[]) that.literal);
     }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode((Object[]) literal);
+    }
   }
 
   /**
@@ -4988,6 +5058,46 @@ public class Expression {
     Object toValue();
   }
 
+  /**
+   * Bounded cache of the array representation of recently converted expressions, by structural equality.
+   * <p>
+   * Data-driven styles often rebuild the same expressions, or contain the same sub expressions many times.
+   * Those are converted once and share their array representation.
+   * </p>
+   */
+  private static final class ArrayCache {
+
+    private static final int MAX_SIZE = 512;
+
+    private static final Map<Expression, Object[]> cache = new LinkedHashMap<Expression, Object[]>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Expression, Object[]> eldest) {
+        return size() > MAX_SIZE;
+      }
+    };
+
+    @NonNull
+    static Object[] get(@NonNull Expression expression) {
+      synchronized (cache) {
+        Object[] array = cache.get(expression);
+        if (array != null) {
+          return array;
+        }
+      }
+
+      // Converted outside of the lock, sub expressions are looked up recursively
+      Object[] array = expression.createArray();
+      synchronized (cache) {
+        Object[] existing = cache.get(expression);
+        if (existing != null) {
+          return existing;
+        }
+        cache.put(expression, array);
+      }
+      return array;
+    }
+  }
+
   /**
    * Converts an object that is a primitive array to an Object[]
    *
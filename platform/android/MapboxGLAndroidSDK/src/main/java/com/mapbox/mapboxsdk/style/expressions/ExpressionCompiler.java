@@ -0,0 +1,1406 @@
+package com.mapbox.mapboxsdk.style.expressions;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.mapbox.mapboxsdk.exceptions.ExpressionEvaluationException;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the array representation of an {@link Expression} into a tree of nodes that can be evaluated
+ * on the JVM, following the semantics of the style specification.
+ * <p>
+ * Sub trees that depend neither on the feature nor on the zoom level are evaluated once while compiling
+ * and replaced by their value. Values are represented as null, {@link Boolean}, {@link Double},
+ * {@link String}, {@link List} and {@link Map}.
+ * </p>
+ */
+final class ExpressionCompiler {
+
+  private static final EvaluationContext CONSTANT_CONTEXT = new EvaluationContext(0);
+
+  private static final Pattern NUMBER_PATTERN =
+    Pattern.compile("[+-]?(Infinity|(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?)");
+
+  private static final int LESS = 0;
+  private static final int GREATER = 1;
+  private static final int LESS_OR_EQUAL = 2;
+  private static final int GREATER_OR_EQUAL = 3;
+
+  // Bindings of the enclosing let expressions, innermost first
+  private final Deque<Map<String, Node>> scopes = new ArrayDeque<>();
+
+  private ExpressionCompiler() {
+  }
+
+  /**
+   * Compile an expression in its array representation.
+   *
+   * @param expression the expression, as returned by {@link Expression#toArray()}
+   * @return the root node of the compiled expression
+   * @throws IllegalArgumentException if the expression is invalid or not supported
+   */
+  @NonNull
+  static Node compile(@NonNull Object[] expression) {
+    return new ExpressionCompiler().compileValue(expression);
+  }
+
+  @NonNull
+  private Node compileValue(@Nullable Object value) {
+    if (!(value instanceof Object[])) {
+      return new Constant(toValue(value));
+    }
+
+    Object[] expression = (Object[]) value;
+    if (expression.length == 0 || !(expression[0] instanceof String)) {
+      throw new IllegalArgumentException(
+        "Expected an array with an expression operator as first element, use literal for array values.");
+    }
+    return fold(compileExpression((String) expression[0], expression));
+  }
+
+  @NonNull
+  private Node[] compileValues(@NonNull Object[] expression, int from) {
+    Node[] nodes = new Node[expression.length - from];
+    for (int i = from; i < expression.length; i++) {
+      nodes[i - from] = compileValue(expression[i]);
+    }
+    return nodes;
+  }
+
+  @NonNull
+  private Node fold(@NonNull Node node) {
+    if (node instanceof Constant || !node.foldable || !node.featureConstant || !node.zoomConstant) {
+      return node;
+    }
+    try {
+      return new Constant(node.evaluate(CONSTANT_CONTEXT));
+    } catch (ExpressionEvaluationException exception) {
+      throw new IllegalArgumentException(exception.getMessage(), exception);
+    }
+  }
+
+  @NonNull
+  private Node compileExpression(@NonNull String operator, @NonNull Object[] args) {
+    switch (operator) {
+      case "literal":
+        checkArgumentCount(args, 1, 1);
+        return new Constant(toValue(args[1]));
+      case "get":
+        checkArgumentCount(args, 1, 2);
+        return compileGet(args);
+      case "has":
+        checkArgumentCount(args, 1, 2);
+        return compileHas(args);
+      case "properties":
+        checkArgumentCount(args, 0, 0);
+        return new Node(false, true) {
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            JsonObject properties = context.getProperties();
+            return properties != null ? fromJson(properties) : new LinkedHashMap<String, Object>();
+          }
+        };
+      case "id":
+        checkArgumentCount(args, 0, 0);
+        return new Node(false, true) {
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            Object id = context.getId();
+            return id instanceof Number ? toValue(id) : id;
+          }
+        };
+      case "geometry-type":
+        checkArgumentCount(args, 0, 0);
+        return new Node(false, true) {
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            return context.getGeometryType();
+          }
+        };
+      case "zoom":
+        checkArgumentCount(args, 0, 0);
+        return new Node(true, false) {
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            return context.getZoom();
+          }
+        };
+      case "==":
+      case "!=":
+        checkArgumentCount(args, 2, 2);
+        return compileEquals(operator.equals("=="), args);
+      case "<":
+        return compileComparison(LESS, args);
+      case ">":
+        return compileComparison(GREATER, args);
+      case "<=":
+        return compileComparison(LESS_OR_EQUAL, args);
+      case ">=":
+        return compileComparison(GREATER_OR_EQUAL, args);
+      case "all":
+      case "any":
+        return compileAllAny(operator.equals("all"), args);
+      case "!":
+        checkArgumentCount(args, 1, 1);
+        final Node negated = compileValue(args[1]);
+        return new Node(true, true, negated) {
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            return !toBoolean(negated.evaluate(context));
+          }
+        };
+      case "case":
+        return compileCase(args);
+      case "match":
+        return compileMatch(args);
+      case "coalesce":
+        checkArgumentCount(args, 1, Integer.MAX_VALUE);
+        return compileCoalesce(args);
+      case "step":
+        return compileStep(args);
+      case "interpolate":
+        return compileInterpolate(args);
+      case "let":
+        return compileLet(args);
+      case "var":
+        return compileVar(args);
+      case "+":
+      case "*":
+      case "min":
+      case "max":
+        return compileVariadicMath(operator, args);
+      case "-":
+      case "/":
+      case "%":
+      case "^":
+        return compileBinaryMath(operator, args);
+      case "abs":
+      case "ceil":
+      case "floor":
+      case "round":
+      case "sqrt":
+      case "log10":
+      case "ln":
+      case "log2":
+      case "sin":
+      case "cos":
+      case "tan":
+      case "asin":
+      case "acos":
+      case "atan":
+        return compileUnaryMath(operator, args);
+      case "e":
+        checkArgumentCount(args, 0, 0);
+        return new Constant(Math.E);
+      case "pi":
+        checkArgumentCount(args, 0, 0);
+        return new Constant(Math.PI);
+      case "ln2":
+        checkArgumentCount(args, 0, 0);
+        return new Constant(Math.log(2));
+      case "concat":
+        return compileConcat(args);
+      case "upcase":
+      case "downcase":
+        return compileChangeCase(operator.equals("upcase"), args);
+      case "length":
+        return compileLength(args);
+      case "at":
+        return compileAt(args);
+      case "in":
+        return compileIn(args);
+      case "to-string":
+      case "to-boolean":
+        return compileCoercion(operator, args);
+      case "to-number":
+        return compileToNumber(args);
+      case "typeof":
+        checkArgumentCount(args, 1, 1);
+        final Node typed = compileValue(args[1]);
+        return new Node(true, true, typed) {
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            return typeOf(typed.evaluate(context));
+          }
+        };
+      case "number":
+      case "string":
+      case "boolean":
+      case "object":
+        return compileAssertion(operator, args);
+      case "array":
+        return compileArrayAssertion(args);
+      case "error":
+        checkArgumentCount(args, 1, 1);
+        final Node message = compileValue(args[1]);
+        return new Node(true, true, message) {
+          {
+            // Only raised when evaluated
+            foldable = false;
+          }
+
+          @Override
+          Object evaluate(@NonNull EvaluationContext context) {
+            throw new ExpressionEvaluationException(toStringValue(message.evaluate(context)));
+          }
+        };
+      default:
+        throw new IllegalArgumentException("Unsupported expression operator \"" + operator + "\".");
+    }
+  }
+
+  @NonNull
+  private Node compileGet(@NonNull Object[] args) {
+    final Node key = compileValue(args[1]);
+    if (args.length == 2) {
+      return new Node(false, true, key) {
+        @Override
+        Object evaluate(@NonNull EvaluationContext context) {
+          JsonObject properties = context.getProperties();
+          return properties != null ? fromJson(properties.get(toStringValue(key.evaluate(context)))) : null;
+        }
+      };
+    }
+
+    final Node object = compileValue(args[2]);
+    return new Node(true, true, key, object) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        String name = toStringValue(key.evaluate(context));
+        return toObject(object.evaluate(context)).get(name);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileHas(@NonNull Object[] args) {
+    final Node key = compileValue(args[1]);
+    if (args.length == 2) {
+      return new Node(false, true, key) {
+        @Override
+        Object evaluate(@NonNull EvaluationContext context) {
+          JsonObject properties = context.getProperties();
+          return properties != null && properties.has(toStringValue(key.evaluate(context)));
+        }
+      };
+    }
+
+    final Node object = compileValue(args[2]);
+    return new Node(true, true, key, object) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        String name = toStringValue(key.evaluate(context));
+        return toObject(object.evaluate(context)).containsKey(name);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileEquals(final boolean equals, @NonNull Object[] args) {
+    final Node lhs = compileValue(args[1]);
+    final Node rhs = compileValue(args[2]);
+    return new Node(true, true, lhs, rhs) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        return strictEquals(lhs.evaluate(context), rhs.evaluate(context)) == equals;
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileComparison(final int comparison, @NonNull Object[] args) {
+    checkArgumentCount(args, 2, 2);
+    final Node lhs = compileValue(args[1]);
+    final Node rhs = compileValue(args[2]);
+    final String operator = (String) args[0];
+    return new Node(true, true, lhs, rhs) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object left = lhs.evaluate(context);
+        Object right = rhs.evaluate(context);
+        if (left instanceof Double && right instanceof Double) {
+          return compare(comparison, (Double) left, (Double) right);
+        } else if (left instanceof String && right instanceof String) {
+          return compare(comparison, ((String) left).compareTo((String) right), 0);
+        }
+        throw new ExpressionEvaluationException("Expected arguments for \"" + operator
+          + "\" to be (string, string) or (number, number), but found ("
+          + typeOf(left) + ", " + typeOf(right) + ") instead.");
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileAllAny(final boolean all, @NonNull Object[] args) {
+    final Node[] conditions = compileValues(args, 1);
+    return new Node(true, true, conditions) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        for (Node condition : conditions) {
+          if (toBoolean(condition.evaluate(context)) != all) {
+            return !all;
+          }
+        }
+        return all;
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileCase(@NonNull Object[] args) {
+    if (args.length < 4 || args.length % 2 != 0) {
+      throw new IllegalArgumentException("Expected an odd number of arguments.");
+    }
+    final Node[] nodes = compileValues(args, 1);
+    return new Node(true, true, nodes) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        for (int i = 0; i < nodes.length - 1; i += 2) {
+          if (toBoolean(nodes[i].evaluate(context))) {
+            return nodes[i + 1].evaluate(context);
+          }
+        }
+        return nodes[nodes.length - 1].evaluate(context);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileMatch(@NonNull Object[] args) {
+    if (args.length < 5 || args.length % 2 != 1) {
+      throw new IllegalArgumentException("Expected an even number of arguments.");
+    }
+
+    final Node input = compileValue(args[1]);
+    final Node otherwise = compileValue(args[args.length - 1]);
+    final Map<Object, Node> branches = new HashMap<>();
+    List<Node> children = new ArrayList<>();
+    children.add(input);
+    children.add(otherwise);
+    for (int i = 2; i < args.length - 1; i += 2) {
+      Object labels = args[i];
+      if (labels instanceof Object[] && ((Object[]) labels).length == 2 && "literal".equals(((Object[]) labels)[0])) {
+        labels = ((Object[]) labels)[1];
+      }
+      Object[] labelArray = labels instanceof Object[] ? (Object[]) labels : new Object[] {labels};
+      if (labelArray.length == 0) {
+        throw new IllegalArgumentException("Expected at least one branch label.");
+      }
+
+      Node output = compileValue(args[i + 1]);
+      children.add(output);
+      for (Object label : labelArray) {
+        if (!(label instanceof Number) && !(label instanceof String)) {
+          throw new IllegalArgumentException("Branch labels must be numbers or strings.");
+        }
+        if (branches.put(toValue(label), output) != null) {
+          throw new IllegalArgumentException("Branch labels must be unique.");
+        }
+      }
+    }
+
+    return new Node(true, true, children.toArray(new Node[children.size()])) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = input.evaluate(context);
+        Node output = value instanceof Double || value instanceof String ? branches.get(value) : null;
+        return (output != null ? output : otherwise).evaluate(context);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileCoalesce(@NonNull Object[] args) {
+    final Node[] values = compileValues(args, 1);
+    return new Node(true, true, values) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        for (Node value : values) {
+          Object result = value.evaluate(context);
+          if (result != null) {
+            return result;
+          }
+        }
+        return null;
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileStep(@NonNull Object[] args) {
+    if (args.length < 3 || args.length % 2 != 1) {
+      throw new IllegalArgumentException("Expected an even number of arguments.");
+    }
+
+    final Node input = compileValue(args[1]);
+    final int stopCount = (args.length - 1) / 2;
+    final double[] labels = new double[stopCount];
+    final Node[] outputs = new Node[stopCount];
+    labels[0] = Double.NEGATIVE_INFINITY;
+    outputs[0] = compileValue(args[2]);
+    for (int i = 1; i < stopCount; i++) {
+      labels[i] = toStopLabel(args[1 + 2 * i], labels[i - 1], "step");
+      outputs[i] = compileValue(args[2 + 2 * i]);
+    }
+
+    return new Node(true, true, concat(input, outputs)) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        if (stopCount == 1) {
+          return outputs[0].evaluate(context);
+        }
+        double value = toNumber(input.evaluate(context));
+        return outputs[findStopLessThanOrEqualTo(labels, value)].evaluate(context);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileInterpolate(@NonNull Object[] args) {
+    if (args.length < 5 || args.length % 2 != 1) {
+      throw new IllegalArgumentException("Expected an even number of arguments.");
+    }
+    if (!(args[1] instanceof Object[]) || ((Object[]) args[1]).length == 0) {
+      throw new IllegalArgumentException("Expected an interpolation type expression.");
+    }
+
+    Object[] interpolation = (Object[]) args[1];
+    final double base;
+    final UnitBezier bezier;
+    if ("linear".equals(interpolation[0])) {
+      base = 1;
+      bezier = null;
+    } else if ("exponential".equals(interpolation[0])) {
+      if (interpolation.length != 2 || !(interpolation[1] instanceof Number)) {
+        throw new IllegalArgumentException("Exponential interpolation requires a numeric base.");
+      }
+      base = ((Number) interpolation[1]).doubleValue();
+      bezier = null;
+    } else if ("cubic-bezier".equals(interpolation[0])) {
+      if (interpolation.length != 5) {
+        throw new IllegalArgumentException("Cubic bezier interpolation requires four numeric arguments.");
+      }
+      double[] points = new double[4];
+      for (int i = 0; i < 4; i++) {
+        if (!(interpolation[i + 1] instanceof Number)) {
+          throw new IllegalArgumentException("Cubic bezier interpolation requires four numeric arguments.");
+        }
+        points[i] = ((Number) interpolation[i + 1]).doubleValue();
+        if ((i == 0 || i == 2) && (points[i] < 0 || points[i] > 1)) {
+          throw new IllegalArgumentException(
+            "Cubic bezier interpolation requires x values between 0 and 1.");
+        }
+      }
+      base = 1;
+      bezier = new UnitBezier(points[0], points[1], points[2], points[3]);
+    } else {
+      throw new IllegalArgumentException("Unknown interpolation type " + interpolation[0]);
+    }
+
+    final Node input = compileValue(args[2]);
+    final int stopCount = (args.length - 3) / 2;
+    final double[] labels = new double[stopCount];
+    final Node[] outputs = new Node[stopCount];
+    for (int i = 0; i < stopCount; i++) {
+      labels[i] = toStopLabel(args[3 + 2 * i], i == 0 ? Double.NEGATIVE_INFINITY : labels[i - 1], "interpolate");
+      outputs[i] = compileValue(args[4 + 2 * i]);
+    }
+
+    return new Node(true, true, concat(input, outputs)) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        if (stopCount == 1) {
+          return outputs[0].evaluate(context);
+        }
+
+        double value = toNumber(input.evaluate(context));
+        if (value <= labels[0]) {
+          return outputs[0].evaluate(context);
+        } else if (value >= labels[stopCount - 1]) {
+          return outputs[stopCount - 1].evaluate(context);
+        }
+
+        int index = findStopLessThanOrEqualTo(labels, value);
+        double t = interpolationFactor(value, base, labels[index], labels[index + 1]);
+        if (bezier != null) {
+          t = bezier.solve(t);
+        }
+        return interpolate(outputs[index].evaluate(context), outputs[index + 1].evaluate(context), t);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileLet(@NonNull Object[] args) {
+    if (args.length < 4 || args.length % 2 != 0) {
+      throw new IllegalArgumentException(
+        "Expected at least 3 arguments and an odd number of arguments, but found " + (args.length - 1) + ".");
+    }
+
+    // Bindings are evaluated in the enclosing scope and only visible in the body
+    Map<String, Node> bindings = new HashMap<>();
+    for (int i = 1; i < args.length - 1; i += 2) {
+      if (!(args[i] instanceof String)) {
+        throw new IllegalArgumentException("Expected string, but found " + args[i] + " instead.");
+      }
+      bindings.put((String) args[i], compileValue(args[i + 1]));
+    }
+
+    scopes.push(bindings);
+    try {
+      return compileValue(args[args.length - 1]);
+    } finally {
+      scopes.pop();
+    }
+  }
+
+  @NonNull
+  private Node compileVar(@NonNull Object[] args) {
+    checkArgumentCount(args, 1, 1);
+    if (!(args[1] instanceof String)) {
+      throw new IllegalArgumentException("'var' expression requires exactly one string literal argument.");
+    }
+
+    String name = (String) args[1];
+    for (Map<String, Node> bindings : scopes) {
+      Node bound = bindings.get(name);
+      if (bound != null) {
+        return bound;
+      }
+    }
+    throw new IllegalArgumentException("Unknown variable \"" + name + "\". Make sure \"" + name
+      + "\" has been bound in an enclosing \"let\" expression before using it.");
+  }
+
+  @NonNull
+  private Node compileVariadicMath(@NonNull final String operator, @NonNull Object[] args) {
+    checkArgumentCount(args, 0, Integer.MAX_VALUE);
+    final Node[] values = compileValues(args, 1);
+    return new Node(true, true, values) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        double result;
+        switch (operator) {
+          case "+":
+            result = 0;
+            for (Node value : values) {
+              result += toNumber(value.evaluate(context));
+            }
+            return result;
+          case "*":
+            result = 1;
+            for (Node value : values) {
+              result *= toNumber(value.evaluate(context));
+            }
+            return result;
+          case "min":
+            result = Double.POSITIVE_INFINITY;
+            for (Node value : values) {
+              result = Math.min(result, toNumber(value.evaluate(context)));
+            }
+            return result;
+          default:
+            result = Double.NEGATIVE_INFINITY;
+            for (Node value : values) {
+              result = Math.max(result, toNumber(value.evaluate(context)));
+            }
+            return result;
+        }
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileBinaryMath(@NonNull final String operator, @NonNull Object[] args) {
+    checkArgumentCount(args, operator.equals("-") ? 1 : 2, 2);
+    final Node lhs = compileValue(args[1]);
+    if (args.length == 2) {
+      return new Node(true, true, lhs) {
+        @Override
+        Object evaluate(@NonNull EvaluationContext context) {
+          return -toNumber(lhs.evaluate(context));
+        }
+      };
+    }
+
+    final Node rhs = compileValue(args[2]);
+    return new Node(true, true, lhs, rhs) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        double left = toNumber(lhs.evaluate(context));
+        double right = toNumber(rhs.evaluate(context));
+        switch (operator) {
+          case "-":
+            return left - right;
+          case "/":
+            return left / right;
+          case "%":
+            return left % right;
+          default:
+            return Math.pow(left, right);
+        }
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileUnaryMath(@NonNull final String operator, @NonNull Object[] args) {
+    checkArgumentCount(args, 1, 1);
+    final Node input = compileValue(args[1]);
+    return new Node(true, true, input) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        double value = toNumber(input.evaluate(context));
+        switch (operator) {
+          case "abs":
+            return Math.abs(value);
+          case "ceil":
+            return Math.ceil(value);
+          case "floor":
+            return Math.floor(value);
+          case "round":
+            // Round half away from zero
+            double magnitude = Math.abs(value);
+            double floor = Math.floor(magnitude);
+            return Math.copySign(magnitude - floor >= 0.5 ? floor + 1 : floor, value);
+          case "sqrt":
+            return Math.sqrt(value);
+          case "log10":
+            return Math.log10(value);
+          case "ln":
+            return Math.log(value);
+          case "log2":
+            return Math.log(value) / Math.log(2);
+          case "sin":
+            return Math.sin(value);
+          case "cos":
+            return Math.cos(value);
+          case "tan":
+            return Math.tan(value);
+          case "asin":
+            return Math.asin(value);
+          case "acos":
+            return Math.acos(value);
+          default:
+            return Math.atan(value);
+        }
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileConcat(@NonNull Object[] args) {
+    final Node[] values = compileValues(args, 1);
+    return new Node(true, true, values) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        StringBuilder builder = new StringBuilder();
+        for (Node value : values) {
+          builder.append(stringify(value.evaluate(context)));
+        }
+        return builder.toString();
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileChangeCase(final boolean upperCase, @NonNull Object[] args) {
+    checkArgumentCount(args, 1, 1);
+    final Node input = compileValue(args[1]);
+    return new Node(true, true, input) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        String value = toStringValue(input.evaluate(context));
+        return upperCase ? value.toUpperCase(Locale.ROOT) : value.toLowerCase(Locale.ROOT);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileLength(@NonNull Object[] args) {
+    checkArgumentCount(args, 1, 1);
+    final Node input = compileValue(args[1]);
+    return new Node(true, true, input) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = input.evaluate(context);
+        if (value instanceof String) {
+          return (double) ((String) value).length();
+        } else if (value instanceof List) {
+          return (double) ((List<?>) value).size();
+        }
+        throw new ExpressionEvaluationException(
+          "Expected value to be of type string or array, but found " + typeOf(value) + " instead.");
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileAt(@NonNull Object[] args) {
+    checkArgumentCount(args, 2, 2);
+    final Node index = compileValue(args[1]);
+    final Node input = compileValue(args[2]);
+    return new Node(true, true, index, input) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        double position = toNumber(index.evaluate(context));
+        List<?> array = toArray(input.evaluate(context));
+        if (position < 0) {
+          throw new ExpressionEvaluationException(
+            "Array index out of bounds: " + stringify(position) + " < 0.");
+        }
+        if (position >= array.size()) {
+          throw new ExpressionEvaluationException(
+            "Array index out of bounds: " + stringify(position) + " > " + (array.size() - 1) + ".");
+        }
+        if (position != Math.floor(position)) {
+          throw new ExpressionEvaluationException(
+            "Array index must be an integer, but found " + stringify(position) + " instead.");
+        }
+        return array.get((int) position);
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileIn(@NonNull Object[] args) {
+    checkArgumentCount(args, 2, 2);
+    final Node needle = compileValue(args[1]);
+    final Node haystack = compileValue(args[2]);
+    return new Node(true, true, needle, haystack) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = needle.evaluate(context);
+        Object values = haystack.evaluate(context);
+        if (value == null || values == null || "".equals(values)) {
+          return false;
+        }
+        if (!(value instanceof Boolean || value instanceof String || value instanceof Double)) {
+          throw new ExpressionEvaluationException("Expected first argument to be of type boolean, string or number, "
+            + "but found " + typeOf(value) + " instead.");
+        }
+        if (values instanceof String) {
+          return ((String) values).contains(stringify(value));
+        } else if (values instanceof List) {
+          for (Object item : (List<?>) values) {
+            if (strictEquals(value, item)) {
+              return true;
+            }
+          }
+          return false;
+        }
+        throw new ExpressionEvaluationException(
+          "Expected second argument to be of type array or string, but found " + typeOf(values) + " instead.");
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileCoercion(@NonNull String operator, @NonNull Object[] args) {
+    checkArgumentCount(args, 1, 1);
+    final Node input = compileValue(args[1]);
+    if (operator.equals("to-string")) {
+      return new Node(true, true, input) {
+        @Override
+        Object evaluate(@NonNull EvaluationContext context) {
+          return stringify(input.evaluate(context));
+        }
+      };
+    }
+
+    return new Node(true, true, input) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = input.evaluate(context);
+        if (value == null) {
+          return false;
+        } else if (value instanceof Boolean) {
+          return value;
+        } else if (value instanceof Double) {
+          double number = (Double) value;
+          return number != 0 && !Double.isNaN(number);
+        } else if (value instanceof String) {
+          return !((String) value).isEmpty();
+        }
+        return true;
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileToNumber(@NonNull Object[] args) {
+    checkArgumentCount(args, 1, Integer.MAX_VALUE);
+    final Node[] values = compileValues(args, 1);
+    return new Node(true, true, values) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = null;
+        for (Node node : values) {
+          value = node.evaluate(context);
+          if (value == null) {
+            return 0.0;
+          } else if (value instanceof Double) {
+            if (!Double.isNaN((Double) value)) {
+              return value;
+            }
+          } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1.0 : 0.0;
+          } else if (value instanceof String) {
+            String string = ((String) value).trim();
+            if (string.isEmpty()) {
+              return 0.0;
+            } else if (NUMBER_PATTERN.matcher(string).matches()) {
+              return Double.parseDouble(string);
+            }
+          }
+        }
+        throw new ExpressionEvaluationException("Could not convert " + toJson(value) + " to number.");
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileAssertion(@NonNull final String type, @NonNull Object[] args) {
+    checkArgumentCount(args, 1, Integer.MAX_VALUE);
+    final Node[] values = compileValues(args, 1);
+    return new Node(true, true, values) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = null;
+        for (Node node : values) {
+          value = node.evaluate(context);
+          if (typeOf(value).equals(type)) {
+            return value;
+          }
+        }
+        throw new ExpressionEvaluationException(
+          "Expected value to be of type " + type + ", but found " + typeOf(value) + " instead.");
+      }
+    };
+  }
+
+  @NonNull
+  private Node compileArrayAssertion(@NonNull Object[] args) {
+    // ["array", value], ["array", type, value] or ["array", type, length, value, fallbacks...]
+    checkArgumentCount(args, 1, Integer.MAX_VALUE);
+    final String itemType = args.length > 2 ? String.valueOf(args[1]) : "value";
+    if (!itemType.equals("value") && !itemType.equals("string") && !itemType.equals("number")
+      && !itemType.equals("boolean")) {
+      throw new IllegalArgumentException(
+        "The item type argument of \"array\" must be one of string, number, boolean");
+    }
+    final int length;
+    if (args.length > 3 && args[2] instanceof Number) {
+      length = ((Number) args[2]).intValue();
+    } else if (args.length > 3 && args[2] == null) {
+      length = -1;
+    } else if (args.length > 3) {
+      throw new IllegalArgumentException("The length argument to \"array\" must be a positive integer literal");
+    } else {
+      length = -1;
+    }
+
+    final Node[] values = compileValues(args, Math.min(args.length - 1, 3));
+    return new Node(true, true, values) {
+      @Override
+      Object evaluate(@NonNull EvaluationContext context) {
+        Object value = null;
+        for (Node node : values) {
+          value = node.evaluate(context);
+          if (value instanceof List) {
+            List<?> array = (List<?>) value;
+            boolean matches = length < 0 || array.size() == length;
+            for (int i = 0; matches && !itemType.equals("value") && i < array.size(); i++) {
+              matches = typeOf(array.get(i)).equals(itemType);
+            }
+            if (matches) {
+              return value;
+            }
+          }
+        }
+
+        String expected = itemType.equals("value") && length < 0 ? "array"
+          : "array<" + itemType + (length >= 0 ? ", " + length : "") + ">";
+        throw new ExpressionEvaluationException(
+          "Expected value to be of type " + expected + ", but found " + typeOf(value) + " instead.");
+      }
+    };
+  }
+
+  private static void checkArgumentCount(@NonNull Object[] args, int min, int max) {
+    int count = args.length - 1;
+    if (count < min || count > max) {
+      String expected = min == max ? String.valueOf(min) : max == Integer.MAX_VALUE ? "at least " + min
+        : "between " + min + " and " + max;
+      throw new IllegalArgumentException(
+        "Expected " + expected + " arguments for \"" + args[0] + "\", but found " + count + " instead.");
+    }
+  }
+
+  private static double toStopLabel(@Nullable Object label, double previous, @NonNull String operator) {
+    if (!(label instanceof Number)) {
+      throw new IllegalArgumentException("Input/output pairs for \"" + operator
+        + "\" expressions must be defined using literal numeric values (not computed expressions) for the input "
+        + "values.");
+    }
+    double value = ((Number) label).doubleValue();
+    if (value <= previous) {
+      throw new IllegalArgumentException("Input/output pairs for \"" + operator
+        + "\" expressions must be arranged with input values in strictly ascending order.");
+    }
+    return value;
+  }
+
+  @NonNull
+  private static Node[] concat(@NonNull Node first, @NonNull Node[] rest) {
+    Node[] nodes = new Node[rest.length + 1];
+    nodes[0] = first;
+    System.arraycopy(rest, 0, nodes, 1, rest.length);
+    return nodes;
+  }
+
+  private static int findStopLessThanOrEqualTo(@NonNull double[] stops, double input) {
+    int lastIndex = stops.length - 1;
+    int lowerIndex = 0;
+    int upperIndex = lastIndex;
+    while (lowerIndex <= upperIndex) {
+      int currentIndex = (lowerIndex + upperIndex) >>> 1;
+      if (stops[currentIndex] <= input) {
+        if (currentIndex == lastIndex || input < stops[currentIndex + 1]) {
+          return currentIndex;
+        }
+        lowerIndex = currentIndex + 1;
+      } else if (stops[currentIndex] > input) {
+        upperIndex = currentIndex - 1;
+      } else {
+        throw new ExpressionEvaluationException("Input is not a number.");
+      }
+    }
+    return 0;
+  }
+
+  private static double interpolationFactor(double input, double base, double lower, double upper) {
+    double difference = upper - lower;
+    double progress = input - lower;
+    if (difference == 0) {
+      return 0;
+    } else if (base == 1) {
+      return progress / difference;
+    } else {
+      return (Math.pow(base, progress) - 1) / (Math.pow(base, difference) - 1);
+    }
+  }
+
+  @NonNull
+  private static Object interpolate(@Nullable Object lower, @Nullable Object upper, double t) {
+    if (lower instanceof Double && upper instanceof Double) {
+      return interpolate((double) (Double) lower, (double) (Double) upper, t);
+    } else if (lower instanceof List && upper instanceof List
+      && ((List<?>) lower).size() == ((List<?>) upper).size()) {
+      List<?> from = (List<?>) lower;
+      List<?> to = (List<?>) upper;
+      List<Object> result = new ArrayList<>(from.size());
+      for (int i = 0; i < from.size(); i++) {
+        result.add(interpolate(toNumber(from.get(i)), toNumber(to.get(i)), t));
+      }
+      return Collections.unmodifiableList(result);
+    }
+    throw new ExpressionEvaluationException("Only numbers and arrays of numbers can be interpolated, but found ("
+      + typeOf(lower) + ", " + typeOf(upper) + ") instead.");
+  }
+
+  private static double interpolate(double from, double to, double t) {
+    return from * (1 - t) + to * t;
+  }
+
+  private static boolean compare(int comparison, double left, double right) {
+    switch (comparison) {
+      case LESS:
+        return left < right;
+      case GREATER:
+        return left > right;
+      case LESS_OR_EQUAL:
+        return left <= right;
+      default:
+        return left >= right;
+    }
+  }
+
+  //
+  // Values
+  //
+
+  /**
+   * Converts a literal of the array representation to a value, numbers are converted to Double.
+   */
+  @Nullable
+  static Object toValue(@Nullable Object literal) {
+    if (literal == null || literal instanceof String || literal instanceof Boolean || literal instanceof Double) {
+      return literal;
+    } else if (literal instanceof Number) {
+      double number = ((Number) literal).doubleValue();
+      // -0 and 0 are the same label and key
+      return number == 0 ? 0.0 : number;
+    } else if (literal instanceof Object[]) {
+      Object[] array = (Object[]) literal;
+      List<Object> list = new ArrayList<>(array.length);
+      for (Object item : array) {
+        list.add(toValue(item));
+      }
+      return Collections.unmodifiableList(list);
+    } else if (literal instanceof List) {
+      return toValue(((List<?>) literal).toArray());
+    } else if (literal instanceof Map) {
+      Map<String, Object> map = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) literal).entrySet()) {
+        map.put(String.valueOf(entry.getKey()), toValue(entry.getValue()));
+      }
+      return Collections.unmodifiableMap(map);
+    }
+    throw new IllegalArgumentException("Unsupported literal value " + literal);
+  }
+
+  /**
+   * Converts feature data to a value.
+   */
+  @Nullable
+  static Object fromJson(@Nullable JsonElement element) {
+    if (element == null || element.isJsonNull()) {
+      return null;
+    } else if (element.isJsonPrimitive()) {
+      JsonPrimitive primitive = element.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        return primitive.getAsBoolean();
+      } else if (primitive.isNumber()) {
+        return primitive.getAsDouble();
+      }
+      return primitive.getAsString();
+    } else if (element.isJsonArray()) {
+      JsonArray array = element.getAsJsonArray();
+      List<Object> list = new ArrayList<>(array.size());
+      for (JsonElement item : array) {
+        list.add(fromJson(item));
+      }
+      return list;
+    }
+
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+      map.put(entry.getKey(), fromJson(entry.getValue()));
+    }
+    return map;
+  }
+
+  @NonNull
+  static String typeOf(@Nullable Object value) {
+    if (value == null) {
+      return "null";
+    } else if (value instanceof String) {
+      return "string";
+    } else if (value instanceof Boolean) {
+      return "boolean";
+    } else if (value instanceof Double) {
+      return "number";
+    } else if (value instanceof List) {
+      String itemType = null;
+      for (Object item : (List<?>) value) {
+        String type = typeOf(item);
+        if (itemType == null) {
+          itemType = type;
+        } else if (!itemType.equals(type) || item instanceof List) {
+          // Array item types are never considered equal
+          itemType = "value";
+          break;
+        }
+      }
+      return "array<" + (itemType != null ? itemType : "value") + ", " + ((List<?>) value).size() + ">";
+    }
+    return "object";
+  }
+
+  static boolean strictEquals(@Nullable Object left, @Nullable Object right) {
+    if (left instanceof Double && right instanceof Double) {
+      return ((Double) left).doubleValue() == ((Double) right).doubleValue();
+    } else if (left instanceof String || left instanceof Boolean) {
+      return left.equals(right);
+    }
+    return left == right;
+  }
+
+  static double toNumber(@Nullable Object value) {
+    if (value instanceof Double) {
+      return (Double) value;
+    }
+    throw new ExpressionEvaluationException(
+      "Expected value to be of type number, but found " + typeOf(value) + " instead.");
+  }
+
+  static boolean toBoolean(@Nullable Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    throw new ExpressionEvaluationException(
+      "Expected value to be of type boolean, but found " + typeOf(value) + " instead.");
+  }
+
+  @NonNull
+  static String toStringValue(@Nullable Object value) {
+    if (value instanceof String) {
+      return (String) value;
+    }
+    throw new ExpressionEvaluationException(
+      "Expected value to be of type string, but found " + typeOf(value) + " instead.");
+  }
+
+  @NonNull
+  static List<?> toArray(@Nullable Object value) {
+    if (value instanceof List) {
+      return (List<?>) value;
+    }
+    throw new ExpressionEvaluationException(
+      "Expected value to be of type array, but found " + typeOf(value) + " instead.");
+  }
+
+  @NonNull
+  static Map<?, ?> toObject(@Nullable Object value) {
+    if (value instanceof Map) {
+      return (Map<?, ?>) value;
+    }
+    throw new ExpressionEvaluationException(
+      "Expected value to be of type object, but found " + typeOf(value) + " instead.");
+  }
+
+  /**
+   * Converts a value to a string, like the to-string expression.
+   */
+  @NonNull
+  static String stringify(@Nullable Object value) {
+    if (value == null) {
+      return "";
+    } else if (value instanceof String || value instanceof Boolean) {
+      return value.toString();
+    } else if (value instanceof Double) {
+      return formatNumber((Double) value);
+    }
+    return toJson(value);
+  }
+
+  @NonNull
+  private static String toJson(@Nullable Object value) {
+    StringBuilder builder = new StringBuilder();
+    appendJson(builder, value);
+    return builder.toString();
+  }
+
+  private static void appendJson(@NonNull StringBuilder builder, @Nullable Object value) {
+    if (value == null) {
+      builder.append("null");
+    } else if (value instanceof Double) {
+      double number = (Double) value;
+      builder.append(Double.isNaN(number) || Double.isInfinite(number) ? "null" : formatNumber(number));
+    } else if (value instanceof Boolean) {
+      builder.append(value);
+    } else if (value instanceof String) {
+      appendJsonString(builder, (String) value);
+    } else if (value instanceof List) {
+      builder.append('[');
+      boolean first = true;
+      for (Object item : (List<?>) value) {
+        if (!first) {
+          builder.append(',');
+        }
+        appendJson(builder, item);
+        first = false;
+      }
+      builder.append(']');
+    } else {
+      builder.append('{');
+      boolean first = true;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        if (!first) {
+          builder.append(',');
+        }
+        appendJsonString(builder, String.valueOf(entry.getKey()));
+        builder.append(':');
+        appendJson(builder, entry.getValue());
+        first = false;
+      }
+      builder.append('}');
+    }
+  }
+
+  private static void appendJsonString(@NonNull StringBuilder builder, @NonNull String string) {
+    builder.append('"');
+    for (int i = 0; i < string.length(); i++) {
+      char c = string.charAt(i);
+      if (c == '"' || c == '\\') {
+        builder.append('\\').append(c);
+      } else if (c == '\n') {
+        builder.append("\\n");
+      } else if (c < 0x20) {
+        builder.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+      } else {
+        builder.append(c);
+      }
+    }
+    builder.append('"');
+  }
+
+  /**
+   * Formats a number the way JavaScript does, the style specification reference implementation.
+   */
+  @NonNull
+  private static String formatNumber(double number) {
+    if (Double.isNaN(number)) {
+      return "NaN";
+    } else if (Double.isInfinite(number)) {
+      return number > 0 ? "Infinity" : "-Infinity";
+    } else if (number == 0) {
+      return "0";
+    }
+
+    double magnitude = Math.abs(number);
+    if (magnitude >= 1e-6 && magnitude < 1e21) {
+      return BigDecimal.valueOf(number).stripTrailingZeros().toPlainString();
+    }
+
+    // Scientific notation, 1.5E-7 becomes 1.5e-7 and 1.0E21 becomes 1e+21
+    String string = Double.toString(number);
+    int exponent = string.indexOf('E');
+    String mantissa = string.substring(0, exponent);
+    if (mantissa.endsWith(".0")) {
+      mantissa = mantissa.substring(0, mantissa.length() - 2);
+    }
+    String power = string.substring(exponent + 1);
+    return mantissa + "e" + (power.startsWith("-") ? power : "+" + power);
+  }
+
+  /**
+   * A node of a compiled expression.
+   */
+  abstract static class Node {
+
+    final boolean featureConstant;
+    final boolean zoomConstant;
+    // False if the node can't be evaluated while compiling even though it is constant
+    boolean foldable = true;
+
+    Node(boolean featureConstant, boolean zoomConstant, @NonNull Node... children) {
+      for (Node child : children) {
+        featureConstant &= child.featureConstant;
+        zoomConstant &= child.zoomConstant;
+        foldable &= child.foldable;
+      }
+      this.featureConstant = featureConstant;
+      this.zoomConstant = zoomConstant;
+    }
+
+    @Nullable
+    abstract Object evaluate(@NonNull EvaluationContext context);
+  }
+
+  private static final class Constant extends Node {
+
+    @Nullable
+    private final Object value;
+
+    Constant(@Nullable Object value) {
+      super(true, true);
+      this.value = value;
+    }
+
+    @Nullable
+    @Override
+    Object evaluate(@NonNull EvaluationContext context) {
+      return value;
+    }
+  }
+
+  /**
+   * Solves cubic bezier easing curves through (0, 0) and (1, 1).
+   */
+  private static final class UnitBezier {
+
+    private static final double EPSILON = 1e-6;
+
+    private final double ax;
+    private final double bx;
+    private final double cx;
+    private final double ay;
+    private final double by;
+    private final double cy;
+
+    UnitBezier(double p1x, double p1y, double p2x, double p2y) {
+      cx = 3.0 * p1x;
+      bx = 3.0 * (p2x - p1x) - cx;
+      ax = 1.0 - cx - bx;
+      cy = 3.0 * p1y;
+      by = 3.0 * (p2y - p1y) - cy;
+      ay = 1.0 - cy - by;
+    }
+
+    double solve(double x) {
+      double t = solveCurveX(x);
+      return ((ay * t + by) * t + cy) * t;
+    }
+
+    private double sampleCurveX(double t) {
+      return ((ax * t + bx) * t + cx) * t;
+    }
+
+    private double solveCurveX(double x) {
+      // Newton's method first, bisection if it doesn't converge
+      double t2 = x;
+      for (int i = 0; i < 8; i++) {
+        double x2 = sampleCurveX(t2) - x;
+        if (Math.abs(x2) < EPSILON) {
+          return t2;
+        }
+        double derivative = (3.0 * ax * t2 + 2.0 * bx) * t2 + cx;
+        if (Math.abs(derivative) < EPSILON) {
+          break;
+        }
+        t2 = t2 - x2 / derivative;
+      }
+
+      double t0 = 0.0;
+      double t1 = 1.0;
+      t2 = x;
+      if (t2 < t0) {
+        return t0;
+      } else if (t2 > t1) {
+        return t1;
+      }
+
+      while (t0 < t1) {
+        double x2 = sampleCurveX(t2);
+        if (Math.abs(x2 - x) < EPSILON) {
+          return t2;
+        }
+        if (x > x2) {
+          t0 = t2;
+        } else {
+          t1 = t2;
+        }
+        t2 = (t1 - t0) * 0.5 + t0;
+      }
+      return t2;
+    }
+  }
+}
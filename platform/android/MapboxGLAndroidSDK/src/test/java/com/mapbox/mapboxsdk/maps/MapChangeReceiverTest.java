@@ -49,6 +49,9 @@ public class MapChangeReceiverTest {
   @Mock
   private MapView.OnDidFinishRenderingFrameListener onDidFinishRenderingFrameListener;
 
+  @Mock
+  private MapView.OnRenderFrameStatsListener onRenderFrameStatsListener;
+
   @Mock
   private MapView.OnWillStartRenderingMapListener onWillStartRenderingMapListener;
 
@@ -374,6 +377,31 @@ public class MapChangeReceiverTest {
     }
   }
 
+
+  @Test
+  public void testOnRenderFrameStatsListener() {
+    RenderFrameStats stats = new RenderFrameStats(true, false, true, 1000, 2000, 16000, 16666);
+    Assert.assertFalse(mapChangeEventManager.hasOnRenderFrameStatsListeners());
+    mapChangeEventManager.addOnRenderFrameStatsListener(onRenderFrameStatsListener);
+    Assert.assertTrue(mapChangeEventManager.hasOnRenderFrameStatsListeners());
+    mapChangeEventManager.onRenderFrameStats(stats);
+    verify(onRenderFrameStatsListener).onRenderFrameStats(stats);
+    mapChangeEventManager.removeOnRenderFrameStatsListener(onRenderFrameStatsListener);
+    Assert.assertFalse(mapChangeEventManager.hasOnRenderFrameStatsListeners());
+    mapChangeEventManager.onRenderFrameStats(stats);
+    verify(onRenderFrameStatsListener).onRenderFrameStats(stats);
+
+    mapChangeEventManager.addOnRenderFrameStatsListener(onRenderFrameStatsListener);
+    Logger.setLoggerDefinition(loggerDefinition);
+    Exception exc = new RuntimeException();
+    doThrow(exc).when(onRenderFrameStatsListener).onRenderFrameStats(stats);
+    try {
+      mapChangeEventManager.onRenderFrameStats(stats);
+      Assert.fail("The exception should've been re-thrown.");
+    } catch (RuntimeException throwable) {
+      verify(loggerDefinition).e(anyString(), anyString(), eq(exc));
+    }
+  }
   @Test
   public void testOnDidFinishRenderingFrameFullyRenderedListener() {
     mapChangeEventManager.addOnDidFinishRenderingFrameListener(onDidFinishRenderingFrameListener);
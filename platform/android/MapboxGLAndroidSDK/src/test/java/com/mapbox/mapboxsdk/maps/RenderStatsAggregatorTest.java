@@ -0,0 +1,82 @@
+package com.mapbox.mapboxsdk.maps;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RenderStatsAggregatorTest {
+
+  private static final long BUDGET = 16_000_000;
+
+  private RenderStatsAggregator aggregator;
+
+  @Before
+  public void setUp() {
+    aggregator = new RenderStatsAggregator(10, 1000, new RenderStatsAggregator.OnRenderStatsReportListener() {
+      @Override
+      public void onRenderStatsReport(@NonNull RenderStatsAggregator.Report report) {
+      }
+    });
+  }
+
+  @Test
+  public void testEmptyWindow() {
+    assertNull(aggregator.createReport());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidWindowSize() {
+    new RenderStatsAggregator(0, 1000, new RenderStatsAggregator.OnRenderStatsReportListener() {
+      @Override
+      public void onRenderStatsReport(@NonNull RenderStatsAggregator.Report report) {
+      }
+    });
+  }
+
+  @Test
+  public void testPercentiles() {
+    for (int i = 1; i <= 10; i++) {
+      aggregator.onRenderFrameStats(new RenderFrameStats(true, false, false, i * 1000, i * 100, i * 10, BUDGET));
+    }
+
+    RenderStatsAggregator.Report report = aggregator.createReport();
+    assertEquals(10, report.getFrameCount());
+    assertEquals(1000, report.getCpuRenderTime(0));
+    assertEquals(5000, report.getCpuRenderTime(50));
+    assertEquals(9000, report.getCpuRenderTime(90));
+    assertEquals(10000, report.getCpuRenderTime(100));
+    assertEquals(500, report.getGpuWaitTime(50));
+    assertEquals(50, report.getFrameInterval(50));
+  }
+
+  @Test
+  public void testRollingWindow() {
+    for (int i = 1; i <= 15; i++) {
+      aggregator.onRenderFrameStats(new RenderFrameStats(true, false, false, i, 0, 0, BUDGET));
+    }
+
+    RenderStatsAggregator.Report report = aggregator.createReport();
+    assertEquals(10, report.getFrameCount());
+    assertEquals(6, report.getCpuRenderTime(0));
+    assertEquals(15, report.getCpuRenderTime(100));
+    // frames without an interval are not taken into account
+    assertEquals(0, report.getFrameInterval(50));
+  }
+
+  @Test
+  public void testFrameCounters() {
+    aggregator.onRenderFrameStats(new RenderFrameStats(true, false, false, BUDGET, 1, 0, BUDGET));
+    aggregator.onRenderFrameStats(new RenderFrameStats(false, true, true, 1, 1, 0, BUDGET));
+    aggregator.onRenderFrameStats(new RenderFrameStats(false, false, true, 1, 1, 0, BUDGET));
+
+    RenderStatsAggregator.Report report = aggregator.createReport();
+    assertEquals(3, report.getFrameCount());
+    assertEquals(1, report.getDroppedFrameCount());
+    assertEquals(2, report.getPartialFrameCount());
+    assertEquals(2, report.getPlacementChangedFrameCount());
+  }
+}
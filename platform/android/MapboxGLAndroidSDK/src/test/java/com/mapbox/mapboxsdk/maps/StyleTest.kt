@@ -5,7 +5,10 @@ import android.graphics.Bitmap
 import android.graphics.drawable.ShapeDrawable
 import com.mapbox.mapboxsdk.MapboxInjector
 import com.mapbox.mapboxsdk.constants.MapboxConstants
+import com.mapbox.mapboxsdk.style.expressions.Expression
 import com.mapbox.mapboxsdk.style.layers.CannotAddLayerException
+import com.mapbox.mapboxsdk.style.layers.Property
+import com.mapbox.mapboxsdk.style.layers.PropertyFactory
 import com.mapbox.mapboxsdk.style.layers.SymbolLayer
 import com.mapbox.mapboxsdk.style.layers.TransitionOptions
 import com.mapbox.mapboxsdk.style.sources.CannotAddSourceException
@@ -13,6 +16,7 @@ import com.mapbox.mapboxsdk.style.sources.GeoJsonSource
 import com.mapbox.mapboxsdk.utils.ConfigUtils
 import io.mockk.every
 import io.mockk.mockk
+import io.mockk.slot
 import io.mockk.spyk
 import io.mockk.verify
 import org.junit.Assert
@@ -470,4 +474,41 @@ class StyleTest {
             )
         }
     }
+
+    @Test
+    fun testTransaction() {
+        mapboxMap.setStyle(Style.Builder())
+        mapboxMap.notifyStyleLoaded()
+
+        val transaction = mapboxMap.style!!.beginTransaction()
+            .setProperties("water", PropertyFactory.fillOpacity(0.5f), PropertyFactory.fillColor("blue"))
+            .setFilter("roads", Expression.eq(Expression.get("class"), "primary"))
+            .setVisibility("labels", false)
+            .setProperties("water", PropertyFactory.fillOpacity(0.8f))
+        Assert.assertEquals(4, transaction.size())
+
+        val layerIds = slot<Array<String>>()
+        val names = slot<Array<String>>()
+        val values = slot<Array<Any?>>()
+        every { nativeMapView.setLayerProperties(capture(layerIds), capture(names), capture(values)) } returns Unit
+        transaction.commit()
+
+        verify(exactly = 1) { nativeMapView.setLayerProperties(any(), any(), any()) }
+        Assert.assertArrayEquals(arrayOf("water", "water", "roads", "labels"), layerIds.captured)
+        Assert.assertArrayEquals(arrayOf("fill-opacity", "fill-color", "filter", "visibility"), names.captured)
+        Assert.assertEquals(0.8f, values.captured[0])
+        Assert.assertEquals("blue", values.captured[1])
+        Assert.assertArrayEquals(arrayOf("==", arrayOf("get", "class"), "primary"), values.captured[2] as Array<*>)
+        Assert.assertEquals(Property.NONE, values.captured[3])
+        Assert.assertTrue(transaction.isEmpty)
+    }
+
+    @Test
+    fun testEmptyTransaction() {
+        mapboxMap.setStyle(Style.Builder())
+        mapboxMap.notifyStyleLoaded()
+
+        mapboxMap.style!!.beginTransaction().commit()
+        verify(exactly = 0) { nativeMapView.setLayerProperties(any(), any(), any()) }
+    }
 }
@@ -0,0 +1,182 @@
+package com.mapbox.mapboxsdk.maps.renderer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MapRendererEventQueueTest {
+
+  private final Object lock = new Object();
+  private MapRendererEventQueue eventQueue;
+
+  @Before
+  public void setUp() {
+    eventQueue = new MapRendererEventQueue(lock);
+  }
+
+  @Test
+  public void testEmpty() {
+    assertFalse(eventQueue.hasEvents());
+    assertEquals(0, eventQueue.getDepth());
+    assertEquals(0, eventQueue.drain());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfferNull() {
+    eventQueue.offer(null);
+  }
+
+  @Test
+  public void testDrainInOrder() {
+    final List<Integer> executed = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final int value = i;
+      eventQueue.offer(new Runnable() {
+        @Override
+        public void run() {
+          executed.add(value);
+        }
+      });
+    }
+
+    assertTrue(eventQueue.hasEvents());
+    assertEquals(5, eventQueue.getDepth());
+    assertEquals(5, eventQueue.drain());
+    assertFalse(eventQueue.hasEvents());
+    assertEquals(0, eventQueue.getDepth());
+    assertEquals(5, executed.size());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(i, (int) executed.get(i));
+    }
+  }
+
+  @Test
+  public void testEventsQueuedWhileDrainingRunInNextBatch() {
+    final AtomicInteger counter = new AtomicInteger();
+    eventQueue.offer(new Runnable() {
+      @Override
+      public void run() {
+        counter.incrementAndGet();
+        eventQueue.offer(new Runnable() {
+          @Override
+          public void run() {
+            counter.incrementAndGet();
+          }
+        });
+      }
+    });
+
+    assertEquals(1, eventQueue.drain());
+    assertEquals(1, counter.get());
+    assertEquals(1, eventQueue.drain());
+    assertEquals(2, counter.get());
+  }
+
+  @Test
+  public void testStatistics() {
+    Runnable noop = new Runnable() {
+      @Override
+      public void run() {
+      }
+    };
+    eventQueue.offer(noop);
+    eventQueue.offer(noop);
+    eventQueue.offer(noop);
+    eventQueue.drain();
+    eventQueue.offer(noop);
+    eventQueue.drain();
+
+    assertEquals(3, eventQueue.getPeakDepth());
+    assertEquals(4, eventQueue.getExecutedEventCount());
+    assertEquals(2, eventQueue.getExecutedBatchCount());
+    assertTrue(eventQueue.getMaxWaitTimeNanos() >= eventQueue.getAverageWaitTimeNanos());
+
+    eventQueue.resetStatistics();
+    assertEquals(0, eventQueue.getPeakDepth());
+    assertEquals(0, eventQueue.getExecutedEventCount());
+    assertEquals(0, eventQueue.getExecutedBatchCount());
+    assertEquals(0, eventQueue.getAverageWaitTimeNanos());
+    assertEquals(0, eventQueue.getMaxWaitTimeNanos());
+  }
+
+  @Test
+  public void testPrepareToWait() {
+    synchronized (lock) {
+      assertTrue(eventQueue.prepareToWait());
+      eventQueue.finishWait();
+    }
+
+    eventQueue.offer(new Runnable() {
+      @Override
+      public void run() {
+      }
+    });
+
+    synchronized (lock) {
+      assertFalse(eventQueue.prepareToWait());
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testConcurrentProducers() throws InterruptedException {
+    final int producers = 4;
+    final int eventsPerProducer = 10000;
+    final AtomicInteger counter = new AtomicInteger();
+    final CountDownLatch start = new CountDownLatch(1);
+    final Runnable increment = new Runnable() {
+      @Override
+      public void run() {
+        counter.incrementAndGet();
+      }
+    };
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < producers; i++) {
+      Thread thread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+          }
+          for (int j = 0; j < eventsPerProducer; j++) {
+            eventQueue.offer(increment);
+          }
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    int total = producers * eventsPerProducer;
+    while (counter.get() < total) {
+      synchronized (lock) {
+        if (eventQueue.prepareToWait()) {
+          try {
+            lock.wait(10);
+          } finally {
+            eventQueue.finishWait();
+          }
+        }
+      }
+      eventQueue.drain();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(total, counter.get());
+    assertEquals(total, eventQueue.getExecutedEventCount());
+    assertEquals(0, eventQueue.getDepth());
+  }
+}
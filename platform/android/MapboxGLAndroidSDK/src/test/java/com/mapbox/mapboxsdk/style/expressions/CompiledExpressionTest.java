@@ -0,0 +1,291 @@
+package com.mapbox.mapboxsdk.style.expressions;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mapbox.geojson.Feature;
+import com.mapbox.geojson.Point;
+import com.mapbox.mapboxsdk.exceptions.ExpressionEvaluationException;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.mapbox.mapboxsdk.style.expressions.Expression.all;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.get;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.gt;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.has;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.interpolate;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.linear;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.literal;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.product;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.stop;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.sum;
+import static com.mapbox.mapboxsdk.style.expressions.Expression.zoom;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class CompiledExpressionTest {
+
+  private static final File FIXTURES = new File("../../../maplibre-gl-js/test/integration/expression-tests");
+
+  // Expression operators of which the fixtures are evaluated
+  private static final String[] OPERATORS = new String[] {
+    "abs", "acos", "all", "any", "array", "asin", "at", "atan", "boolean", "case", "ceil", "coalesce",
+    "concat", "constant-folding", "cos", "divide", "downcase", "e", "equal", "floor", "geometry-type", "get",
+    "greater", "greater_or_equal", "has", "id", "in", "interpolate", "length", "less", "less_or_equal",
+    "let", "literal", "ln", "ln2", "log10", "log2", "match", "max", "min", "minus", "mod", "not", "not_equal",
+    "number", "object", "pi", "plus", "pow", "properties", "round", "sin", "sqrt", "step", "string", "tan",
+    "times", "to-boolean", "to-number", "to-string", "typeof", "upcase", "zoom"
+  };
+
+  // Operators used in the fixtures above that are not supported by the compiler
+  private static final List<String> UNSUPPORTED_OPERATORS = Arrays.asList(
+    "collator", "rgb", "rgba", "to-color", "to-rgba"
+  );
+
+  @Test
+  public void testFixtures() throws IOException {
+    assumeTrue(FIXTURES.isDirectory());
+
+    List<String> failures = new ArrayList<>();
+    int evaluated = 0;
+    for (String operator : OPERATORS) {
+      File[] cases = new File(FIXTURES, operator).listFiles();
+      assertTrue("Missing fixtures for " + operator, cases != null);
+      Arrays.sort(cases);
+      for (File testCase : cases) {
+        JsonObject fixture = readFixture(new File(testCase, "test.json"));
+        if (fixture == null || !isSupported(fixture)) {
+          continue;
+        }
+        String failure = runFixture(fixture);
+        if (failure != null) {
+          failures.add(operator + "/" + testCase.getName() + ": " + failure);
+        }
+        evaluated++;
+      }
+    }
+
+    assertTrue(failures.size() + " failures:\n" + failures, failures.isEmpty());
+    assertTrue("Only " + evaluated + " fixtures evaluated", evaluated > 100);
+  }
+
+  @Test
+  public void testConstantFolding() {
+    CompiledExpression expression = CompiledExpression.compile(sum(literal(1), product(literal(2), literal(3))));
+    assertTrue(expression.isFeatureConstant());
+    assertTrue(expression.isZoomConstant());
+    assertEquals(7.0, expression.evaluate(new EvaluationContext(0)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testConstantFoldingError() {
+    CompiledExpression.compile(Expression.raw("[\"+\", 1, \"a\"]"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedOperator() {
+    CompiledExpression.compile(Expression.raw("[\"to-color\", \"red\"]"));
+  }
+
+  @Test
+  public void testZoomInterpolation() {
+    CompiledExpression expression = CompiledExpression.compile(
+      interpolate(linear(), zoom(), stop(10, 1), stop(20, product(get("scale"), literal(10)))));
+    assertFalse(expression.isFeatureConstant());
+    assertFalse(expression.isZoomConstant());
+
+    JsonObject properties = new JsonObject();
+    properties.addProperty("scale", 3);
+    Feature feature = Feature.fromGeometry(Point.fromLngLat(0, 0), properties);
+    assertEquals(1.0, expression.evaluate(5, feature));
+    assertEquals(15.5, (Double) expression.evaluate(15, feature), 1e-9);
+    assertEquals(30.0, expression.evaluate(22, feature));
+  }
+
+  @Test
+  public void testFilter() {
+    CompiledExpression filter = CompiledExpression.compile(all(has("population"), gt(get("population"), 1000)));
+
+    List<Feature> features = new ArrayList<>();
+    features.add(createFeature("a", 500));
+    features.add(createFeature("b", 5000));
+    features.add(Feature.fromGeometry(Point.fromLngLat(0, 0), new JsonObject(), "c"));
+    JsonObject invalid = new JsonObject();
+    invalid.addProperty("population", "many");
+    features.add(Feature.fromGeometry(Point.fromLngLat(0, 0), invalid, "d"));
+
+    List<Feature> matching = filter.filter(features, 10);
+    assertEquals(1, matching.size());
+    assertEquals("b", matching.get(0).id());
+  }
+
+  @Test(expected = ExpressionEvaluationException.class)
+  public void testEvaluationError() {
+    JsonObject properties = new JsonObject();
+    properties.addProperty("population", "many");
+    CompiledExpression.compile(gt(get("population"), 1000))
+      .evaluate(0, Feature.fromGeometry(Point.fromLngLat(0, 0), properties));
+  }
+
+  private static Feature createFeature(String id, int population) {
+    JsonObject properties = new JsonObject();
+    properties.addProperty("population", population);
+    return Feature.fromGeometry(Point.fromLngLat(0, 0), properties, id);
+  }
+
+  private static JsonObject readFixture(File file) throws IOException {
+    if (!file.isFile()) {
+      return null;
+    }
+    try (Reader reader = new FileReader(file)) {
+      return JsonParser.parseReader(reader).getAsJsonObject();
+    }
+  }
+
+  private static boolean isSupported(JsonObject fixture) {
+    // Fixtures that rely on type checking against a property or on compile time type errors are skipped
+    JsonObject compiled = fixture.getAsJsonObject("expected").getAsJsonObject("compiled");
+    return !fixture.has("propertySpec")
+      && "success".equals(compiled.get("result").getAsString())
+      && fixture.get("expression").isJsonArray()
+      && fixture.getAsJsonObject("expected").has("outputs")
+      && isConvertible(fixture.get("expression"));
+  }
+
+  private static boolean isConvertible(JsonElement element) {
+    // Expression.Converter converts null to an empty string and doesn't support nested literal arrays
+    if (element.isJsonNull()) {
+      return false;
+    } else if (element.isJsonObject()) {
+      for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+        if (!isConvertible(entry.getValue())) {
+          return false;
+        }
+      }
+    } else if (element.isJsonArray()) {
+      JsonArray array = element.getAsJsonArray();
+      String operator = array.size() > 0 && array.get(0).isJsonPrimitive() ? array.get(0).getAsString() : "";
+      if (UNSUPPORTED_OPERATORS.contains(operator)) {
+        return false;
+      }
+      for (JsonElement item : array) {
+        if (!isConvertible(item) || (operator.equals("literal") && item.isJsonArray() && !isFlat(item))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean isFlat(JsonElement element) {
+    for (JsonElement item : element.getAsJsonArray()) {
+      if (!item.isJsonPrimitive()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String runFixture(JsonObject fixture) {
+    CompiledExpression expression;
+    try {
+      expression = CompiledExpression.compile(Expression.Converter.convert(fixture.get("expression")));
+    } catch (RuntimeException exception) {
+      return "compile error " + exception;
+    }
+
+    JsonObject compiled = fixture.getAsJsonObject("expected").getAsJsonObject("compiled");
+    if (compiled.get("isFeatureConstant").getAsBoolean() != expression.isFeatureConstant()) {
+      return "isFeatureConstant " + expression.isFeatureConstant();
+    }
+    if (compiled.get("isZoomConstant").getAsBoolean() != expression.isZoomConstant()) {
+      return "isZoomConstant " + expression.isZoomConstant();
+    }
+
+    JsonArray inputs = fixture.getAsJsonArray("inputs");
+    JsonArray outputs = fixture.getAsJsonObject("expected").getAsJsonArray("outputs");
+    for (int i = 0; i < inputs.size(); i++) {
+      JsonElement expected = outputs.get(i);
+      Object actual;
+      try {
+        actual = expression.evaluate(createContext(inputs.get(i).getAsJsonArray()));
+      } catch (ExpressionEvaluationException exception) {
+        if (isError(expected)) {
+          continue;
+        }
+        return "input " + i + " failed with " + exception.getMessage();
+      }
+      if (isError(expected) || !matches(expected, actual)) {
+        return "input " + i + " expected " + expected + " but was " + actual;
+      }
+    }
+    return null;
+  }
+
+  private static EvaluationContext createContext(JsonArray input) {
+    JsonObject globals = input.get(0).getAsJsonObject();
+    JsonObject feature = input.get(1).getAsJsonObject();
+    double zoom = globals.has("zoom") ? globals.get("zoom").getAsDouble() : 0;
+    JsonObject properties = feature.has("properties") ? feature.getAsJsonObject("properties") : new JsonObject();
+    Object id = null;
+    if (feature.has("id")) {
+      JsonElement element = feature.get("id");
+      id = element.getAsJsonPrimitive().isNumber() ? (Object) element.getAsDouble() : element.getAsString();
+    }
+    String geometryType = feature.has("geometry")
+      ? feature.getAsJsonObject("geometry").get("type").getAsString() : null;
+    return new EvaluationContext(zoom, properties, id, geometryType);
+  }
+
+  private static boolean isError(JsonElement expected) {
+    return expected.isJsonObject() && expected.getAsJsonObject().has("error");
+  }
+
+  private static boolean matches(JsonElement expected, Object actual) {
+    if (expected.isJsonNull()) {
+      return actual == null;
+    } else if (expected.isJsonArray()) {
+      if (!(actual instanceof List) || ((List) actual).size() != expected.getAsJsonArray().size()) {
+        return false;
+      }
+      for (int i = 0; i < expected.getAsJsonArray().size(); i++) {
+        if (!matches(expected.getAsJsonArray().get(i), ((List) actual).get(i))) {
+          return false;
+        }
+      }
+      return true;
+    } else if (expected.isJsonObject()) {
+      if (!(actual instanceof Map) || ((Map) actual).size() != expected.getAsJsonObject().size()) {
+        return false;
+      }
+      for (Map.Entry<String, JsonElement> entry : expected.getAsJsonObject().entrySet()) {
+        if (!matches(entry.getValue(), ((Map) actual).get(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    } else if (expected.getAsJsonPrimitive().isNumber()) {
+      if (!(actual instanceof Double)) {
+        return false;
+      }
+      // Expected values are rounded and expression literals are converted to floats
+      double value = expected.getAsDouble();
+      return Math.abs(value - (Double) actual) <= Math.max(1e-5, Math.abs(value) * 1e-5);
+    } else if (expected.getAsJsonPrimitive().isBoolean()) {
+      return Boolean.valueOf(expected.getAsBoolean()).equals(actual);
+    }
+    return expected.getAsString().equals(actual);
+  }
+}
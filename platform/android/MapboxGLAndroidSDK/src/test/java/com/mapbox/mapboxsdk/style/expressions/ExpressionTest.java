@@ -105,6 +105,7 @@ import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineOpacity;
 import static com.mapbox.mapboxsdk.style.layers.PropertyFactory.lineWidth;
 import static junit.framework.Assert.assertTrue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Expression unit tests that validate the expression output with the expected Object[]array representation.
@@ -499,6 +500,56 @@ public class ExpressionTest {
     assertTrue("expression should match", Arrays.deepEquals(expected, actual));
   }
 
+  @Test
+  public void testRawWithin() throws Exception {
+    String polygon = "{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[0,5],[5,5],[0,0]]]}";
+    HashMap<String, String> map = new HashMap<>();
+    map.put("type", "Polygon");
+    map.put("json", polygon);
+    Object[] expected = new Object[] {"within", map};
+    Object[] actual = raw("[\"within\", " + polygon + "]").toArray();
+    assertTrue("expression should match", Arrays.deepEquals(expected, actual));
+  }
+
+  @Test
+  public void testRawDistance() throws Exception {
+    String point = "{\"type\":\"Point\",\"coordinates\":[1,2]}";
+    HashMap<String, String> map = new HashMap<>();
+    map.put("json", point);
+    Object[] expected = new Object[] {"distance", map};
+    Object[] actual = raw("[\"distance\", " + point + "]").toArray();
+    assertTrue("expression should match", Arrays.deepEquals(expected, actual));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRawWithinInvalidGeometry() throws Exception {
+    raw("[\"within\", {\"type\":\"Point\",\"coordinates\":[1,2]}]");
+  }
+
+  @Test
+  public void testToArrayIsReused() throws Exception {
+    Expression expression = sum(get("x"), literal(1));
+    assertSame(expression.toArray(), expression.toArray());
+  }
+
+  @Test
+  public void testEqualExpressionsShareArray() throws Exception {
+    assertSame(get("shared").toArray(), get("shared").toArray());
+
+    Object[] parent = product(get("shared"), literal(2)).toArray();
+    assertSame(get("shared").toArray(), parent[1]);
+    assertTrue("expression should match",
+      Arrays.deepEquals(new Object[] {"*", new Object[] {"get", "shared"}, 2f}, parent));
+  }
+
+  @Test
+  public void testLiteralArrayHashCode() throws Exception {
+    Expression first = literal(new Object[] {1f, "two"});
+    Expression second = literal(new Object[] {1f, "two"});
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+  }
+
 
   @Test
   public void testInArray() throws Exception {
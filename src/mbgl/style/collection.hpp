@@ -71,6 +71,14 @@ public:
         return Base::remove(idx, idx);
     }
     void update(const T& wrapper) { Base::update(Base::index(wrapper.getID()), wrapper); }
+    // Updates the impls of all elements at once, after several elements were internally mutated.
+    void updateAll() {
+        mutate(Base::impls, [&](auto& impls_) {
+            for (std::size_t i = 0; i < Base::size(); ++i) {
+                impls_[i] = Base::wrappers[i]->baseImpl;
+            }
+        });
+    }
 };
 
 template <class T>
@@ -224,6 +224,19 @@ std::unique_ptr<Layer> Style::Impl::removeLayer(const std::string& id) {
     return layer;
 }
 
+void Style::Impl::beginLayerChanges() {
+    ++layerChangesDepth;
+}
+
+void Style::Impl::endLayerChanges() {
+    assert(layerChangesDepth > 0);
+    if (--layerChangesDepth == 0 && layersChanged) {
+        layersChanged = false;
+        layers.updateAll();
+        observer->onUpdate();
+    }
+}
+
 void Style::Impl::setLight(std::unique_ptr<Light> light_) {
     light = std::move(light_);
     light->setObserver(this);
@@ -373,6 +386,10 @@ void Style::Impl::onSpriteError(std::exception_ptr error) {
 }
 
 void Style::Impl::onLayerChanged(Layer& layer) {
+    if (layerChangesDepth > 0) {
+        layersChanged = true;
+        return;
+    }
     layers.update(layer);
     observer->onUpdate();
 }
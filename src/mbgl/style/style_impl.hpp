@@ -68,6 +68,11 @@ public:
     Layer* addLayer(std::unique_ptr<Layer>, const optional<std::string>& beforeLayerID = {});
     std::unique_ptr<Layer> removeLayer(const std::string& layerID);
 
+    // Layer changes made between beginLayerChanges() and endLayerChanges() are applied to
+    // the layer collection and reported to the observer once, when the outermost call ends.
+    void beginLayerChanges();
+    void endLayerChanges();
+
     std::string getName() const;
     CameraOptions getDefaultCamera() const;
 
@@ -109,6 +114,8 @@ private:
     Immutable<ImageImpls> images = makeMutable<ImageImpls>();
     CollectionWithPersistentOrder<Source> sources;
     Collection<Layer> layers;
+    std::size_t layerChangesDepth = 0;
+    bool layersChanged = false;
     TransitionOptions transitionOptions;
     std::unique_ptr<Light> light;
 
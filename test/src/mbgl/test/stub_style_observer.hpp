@@ -30,9 +30,14 @@ public:
         if (resourceError) resourceError(error);
     };
 
+    void onUpdate() override {
+        if (update) update();
+    }
+
     std::function<void (Source&)> sourceLoaded;
     std::function<void (Source&)> sourceChanged;
     std::function<void (Source&, std::exception_ptr)> sourceError;
     std::function<void (Source&)> sourceDescriptionChanged;
     std::function<void (std::exception_ptr)> resourceError;
+    std::function<void ()> update;
 };
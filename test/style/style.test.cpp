@@ -1,11 +1,13 @@
 #include <mbgl/test/util.hpp>
 #include <mbgl/test/stub_file_source.hpp>
 #include <mbgl/test/fixture_log_observer.hpp>
+#include <mbgl/test/stub_style_observer.hpp>
 
 #include <mbgl/style/style_impl.hpp>
 #include <mbgl/style/source_impl.hpp>
 #include <mbgl/style/sources/vector_source.hpp>
 #include <mbgl/style/layer.hpp>
+#include <mbgl/style/layer_impl.hpp>
 #include <mbgl/style/layers/line_layer.hpp>
 #include <mbgl/util/io.hpp>
 #include <mbgl/util/run_loop.hpp>
@@ -167,3 +169,42 @@ TEST(Style, AddRemoveRemoveImage) {
     EXPECT_FALSE(!!style.getImage("two"));
     EXPECT_FALSE(!!style.getImage("four"));
 }
+
+TEST(Style, LayerChanges) {
+    util::RunLoop loop;
+    auto fileSource = std::make_shared<StubFileSource>();
+    Style::Impl style{fileSource, 1.0};
+    auto* line = style.addLayer(std::make_unique<LineLayer>("line", "source"));
+    auto* other = style.addLayer(std::make_unique<LineLayer>("other", "source"));
+
+    std::size_t updates = 0;
+    StubStyleObserver observer;
+    observer.update = [&] { ++updates; };
+    style.setObserver(&observer);
+
+    auto impls = style.getLayerImpls();
+    style.beginLayerChanges();
+    line->setVisibility(VisibilityType::None);
+    style.beginLayerChanges();
+    other->setMinZoom(5);
+    other->setMaxZoom(10);
+    style.endLayerChanges();
+    EXPECT_EQ(0u, updates);
+    EXPECT_TRUE(impls == style.getLayerImpls());
+    style.endLayerChanges();
+
+    EXPECT_EQ(1u, updates);
+    const auto& layerImpls = *style.getLayerImpls();
+    ASSERT_EQ(2u, layerImpls.size());
+    EXPECT_EQ(VisibilityType::None, layerImpls[0]->visibility);
+    EXPECT_EQ(5, layerImpls[1]->minZoom);
+    EXPECT_EQ(10, layerImpls[1]->maxZoom);
+
+    // Ending changes without any change doesn't update
+    style.beginLayerChanges();
+    style.endLayerChanges();
+    EXPECT_EQ(1u, updates);
+
+    line->setVisibility(VisibilityType::Visible);
+    EXPECT_EQ(2u, updates);
+}